@@ -0,0 +1,70 @@
+-- Query plans of the events and entrant tables before and after the secondary indexes.
+--
+-- Run against an empty scratch database on MariaDB or MySQL, for example:
+--   mysql -u root -e "CREATE DATABASE ea_explain"
+--   mysql -u root ea_explain < docs/index-explain.sql
+--
+-- The tables are created as older versions created them, without secondary indexes,
+-- and filled with 100000 events (90% ENDED) and 10 entrants per event.
+-- Each query used by GameEventTable and EventEntrantTable is explained, the indexes are added as the
+-- migrations add them, and the same queries are explained again.
+-- Before: "type" is ALL (full scan) and "Extra" shows "Using filesort".
+-- After: "type" is ref or range on the idx_* index and the filesort is gone.
+
+CREATE TABLE ea_events (
+    id VARCHAR(36) PRIMARY KEY, event_name VARCHAR(32) NOT NULL, description VARCHAR(120),
+    owner_id VARCHAR(36) NOT NULL, event_status VARCHAR(16) NOT NULL, start_date DATETIME,
+    end_date DATETIME DEFAULT 0, location JSON, entrant JSON, event_options JSON
+);
+CREATE TABLE ea_event_entrants (
+    entry_id BIGINT NOT NULL AUTO_INCREMENT UNIQUE,
+    event_id VARCHAR(36) NOT NULL, player_id VARCHAR(36) NOT NULL,
+    PRIMARY KEY (event_id, player_id)
+);
+
+CREATE TABLE ea_digits (d INT PRIMARY KEY);
+INSERT INTO ea_digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+INSERT INTO ea_events (id, event_name, owner_id, event_status, start_date, end_date)
+SELECT UUID(),
+       CONCAT('event', n),
+       CONCAT('00000000-0000-0000-0000-', LPAD(n % 500, 12, '0')),
+       CASE WHEN n % 10 = 0 THEN 'UPCOMING' WHEN n % 10 = 1 THEN 'HOLDING' ELSE 'ENDED' END,
+       NOW() - INTERVAL n MINUTE,
+       NOW() - INTERVAL n MINUTE + INTERVAL 1 HOUR
+FROM (SELECT a.d + b.d * 10 + c.d * 100 + e.d * 1000 + f.d * 10000 AS n
+      FROM ea_digits a, ea_digits b, ea_digits c, ea_digits e, ea_digits f) numbers;
+
+INSERT INTO ea_event_entrants (event_id, player_id)
+SELECT ea_events.id, CONCAT('00000000-0000-0000-0001-', LPAD(FLOOR(RAND() * 100000), 12, '0'))
+FROM ea_events, ea_digits
+ON DUPLICATE KEY UPDATE player_id = player_id;
+
+ANALYZE TABLE ea_events, ea_event_entrants;
+
+-- Before
+EXPLAIN SELECT * FROM ea_events WHERE event_status = 'UPCOMING';
+EXPLAIN SELECT id, event_name, description, owner_id, event_status, start_date, end_date FROM ea_events
+        WHERE event_status = 'UPCOMING' ORDER BY start_date, id LIMIT 50 OFFSET 0;
+EXPLAIN SELECT id, event_name, description, owner_id, event_status, start_date, end_date FROM ea_events
+        WHERE event_status = 'ENDED' ORDER BY end_date DESC, id DESC LIMIT 256;
+EXPLAIN SELECT id FROM ea_events WHERE owner_id = '00000000-0000-0000-0000-000000000042';
+EXPLAIN SELECT event_id FROM ea_event_entrants WHERE player_id = '00000000-0000-0000-0001-000000000042' ORDER BY entry_id;
+
+-- Indexes added by GameEventTable migration 1 and EventEntrantTable.createTable
+CREATE INDEX idx_status_start_date ON ea_events (event_status, start_date);
+CREATE INDEX idx_owner_id ON ea_events (owner_id);
+CREATE INDEX idx_end_date ON ea_events (end_date);
+CREATE INDEX idx_player_id ON ea_event_entrants (player_id);
+ANALYZE TABLE ea_events, ea_event_entrants;
+
+-- After
+EXPLAIN SELECT * FROM ea_events WHERE event_status = 'UPCOMING';
+EXPLAIN SELECT id, event_name, description, owner_id, event_status, start_date, end_date FROM ea_events
+        WHERE event_status = 'UPCOMING' ORDER BY start_date, id LIMIT 50 OFFSET 0;
+EXPLAIN SELECT id, event_name, description, owner_id, event_status, start_date, end_date FROM ea_events
+        WHERE event_status = 'ENDED' ORDER BY end_date DESC, id DESC LIMIT 256;
+EXPLAIN SELECT id FROM ea_events WHERE owner_id = '00000000-0000-0000-0000-000000000042';
+EXPLAIN SELECT event_id FROM ea_event_entrants WHERE player_id = '00000000-0000-0000-0001-000000000042' ORDER BY entry_id;
+
+DROP TABLE ea_digits, ea_event_entrants, ea_events;
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.codec;
+
+package dev.nafusoft.eventassistcore.automation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import dev.nafusoft.eventassistcore.automation.actions.*;
+import dev.nafusoft.eventassistcore.codec.Codecs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single streaming pass that reads automations with the former path,
+ * which parsed the automation with Gson and parsed each action again from its string with Jackson.<br>
+ * Both methods follow {@code EventAutomationManager#readJsonSafe} without its logging, which needs a running server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutomationParseBenchmark {
+    private static final Gson GSON = new Gson();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"5", "50"})
+    public int actionCount;
+
+    private String automationJson;
+
+    @Setup
+    public void setup() throws IOException {
+        ActionRegistry registry = new ActionRegistry();
+        registry.registerAction("title", TitleShowAction.class, TitleShowActionOptions.class);
+        registry.registerAction("message", MessageSendAction.class, MessageSendActionOptions.class);
+        registry.registerAction("command", CommandExecuteAction.class, CommandExecuteActionOptions.class);
+
+        List<AutomationAction> actions = new ArrayList<>();
+        for (int i = 0; i < actionCount; i++) {
+            actions.add(switch (i % 3) {
+                case 0 -> new TitleShowAction(new TitleShowActionOptions("Round " + i, "Good luck", "GOLD", "WHITE"));
+                case 1 -> new MessageSendAction(new MessageSendActionOptions("§aRound " + i + " has started."));
+                default -> new CommandExecuteAction(new CommandExecuteActionOptions("say Round " + i));
+            });
+        }
+        automationJson = Codecs.AUTOMATION_WRITER.writeValueAsString(new EventAutomation(actions, 100));
+    }
+
+    @Benchmark
+    public LoadedEventAutomation streaming() throws IOException {
+        List<String> loadFailed = new ArrayList<>();
+        List<AutomationAction> actions = new ArrayList<>();
+        int automationDelayTime = 0;
+
+        try (JsonParser parser = Codecs.createParser(automationJson)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("automationDelayTime".equals(fieldName)) {
+                    automationDelayTime = parser.getValueAsInt();
+                } else if ("actions".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        TokenBuffer actionTokens = new TokenBuffer(parser);
+                        actionTokens.copyCurrentStructure(parser);
+
+                        try (JsonParser actionParser = actionTokens.asParser(Codecs.ACTION_READER)) {
+                            AutomationAction action = Codecs.ACTION_READER.readValue(actionParser);
+                            if (action != null)
+                                actions.add(action);
+                        } catch (IOException e) {
+                            loadFailed.add(Codecs.WRITER.writeValueAsString(actionTokens));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new LoadedEventAutomation(actions, automationDelayTime, loadFailed);
+    }
+
+    @Benchmark
+    public LoadedEventAutomation gsonThenJackson() {
+        List<String> loadFailed = new ArrayList<>();
+        List<AutomationAction> actions = new ArrayList<>();
+
+        JsonObject baseJson = GSON.fromJson(automationJson, JsonObject.class);
+        int automationDelayTime = baseJson.get("automationDelayTime").getAsInt();
+        for (JsonElement action : baseJson.getAsJsonArray("actions")) {
+            String actionBody = action.getAsJsonObject().toString();
+            try {
+                AutomationAction actionObject = MAPPER.readValue(actionBody, AutomationAction.class);
+                if (actionObject != null)
+                    actions.add(actionObject);
+            } catch (IOException e) {
+                loadFailed.add(actionBody);
+            }
+        }
+        return new LoadedEventAutomation(actions, automationDelayTime, loadFailed);
+    }
+}
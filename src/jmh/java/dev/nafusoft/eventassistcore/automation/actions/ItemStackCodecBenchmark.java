@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.codec;
+
+package dev.nafusoft.eventassistcore.automation.actions;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the byte layer of {@link ItemStackCodec} and a lookup that hits the template cache.<br>
+ * Reading an item stack itself needs a running server, so the payload is an object stream of a map shaped like
+ * {@code ItemStack#serialize()}, and the cached template is created directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemStackCodecBenchmark {
+    private byte[] serializedItem;
+    private String packedItem;
+    private String legacyItem;
+    private ItemStack template;
+
+    @Setup
+    public void setup() throws IOException {
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("meta-type", "UNSPECIFIC");
+        meta.put("display-name", "{\"text\":\"Event Prize\",\"color\":\"gold\",\"italic\":false}");
+        meta.put("lore", List.of("{\"text\":\"Awarded to the winner of the event.\"}", "{\"text\":\"Season 1\"}"));
+        meta.put("enchants", Map.of("DAMAGE_ALL", 5, "DURABILITY", 3));
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("v", 3465);
+        item.put("type", "DIAMOND_SWORD");
+        item.put("meta", meta);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(outputStream)) {
+            objectOutput.writeObject(item);
+        }
+        serializedItem = outputStream.toByteArray();
+        packedItem = ItemStackCodec.pack(serializedItem);
+        legacyItem = new String(Base64Coder.encodeLines(serializedItem));
+
+        template = new ItemStack(Material.DIAMOND_SWORD);
+        ItemStackCodec.getTemplate(packedItem, encodedItem -> template);
+    }
+
+    @Benchmark
+    public String pack() throws IOException {
+        return ItemStackCodec.pack(serializedItem);
+    }
+
+    @Benchmark
+    public byte[] unpack() throws IOException {
+        return ItemStackCodec.unpack(packedItem);
+    }
+
+    @Benchmark
+    public byte[] unpackLegacy() {
+        return Base64Coder.decodeLines(legacyItem);
+    }
+
+    @Benchmark
+    public ItemStack templateHit() throws IOException {
+        return ItemStackCodec.getTemplate(packedItem, encodedItem -> {
+            throw new IllegalStateException("The template should be cached.");
+        });
+    }
+
+    @Benchmark
+    public ItemStack templateHitAndClone() throws IOException {
+        return ItemStackCodec.getTemplate(packedItem, encodedItem -> {
+            throw new IllegalStateException("The template should be cached.");
+        }).clone();
+    }
+}
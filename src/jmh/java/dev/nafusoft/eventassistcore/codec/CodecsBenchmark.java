@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.codec;
+
+package dev.nafusoft.eventassistcore.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.nafusoft.eventassistcore.automation.ActionOptions;
+import dev.nafusoft.eventassistcore.automation.actions.*;
+import dev.nafusoft.eventassistcore.gameevent.EventOptions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared readers and writers of {@link Codecs} with the way values were converted before,
+ * through a plain mapper without Blackbird and with the target type resolved on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecsBenchmark {
+    private static final ObjectMapper PLAIN_MAPPER = new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    private static final ObjectReader OPTIONS_READER = Codecs.ACTION_READER.forType(ActionOptions.class);
+    private static final ObjectWriter OPTIONS_WRITER = Codecs.WRITER.forType(ActionOptions.class);
+
+    private EventOptions eventOptions;
+    private String eventOptionsJson;
+    private Map<String, Object> location;
+    private String locationJson;
+    private List<ActionOptions> actionOptions;
+    private List<String> actionOptionsJson;
+
+    @Setup
+    public void setup() throws IOException {
+        // Options are written with their type ids, as they are when they are saved with an automation.
+        ActionRegistry registry = new ActionRegistry();
+        registry.registerAction("title", TitleShowAction.class, TitleShowActionOptions.class);
+        registry.registerAction("message", MessageSendAction.class, MessageSendActionOptions.class);
+        registry.registerAction("command", CommandExecuteAction.class, CommandExecuteActionOptions.class);
+        registry.registerAction("countdown", CountDownAction.class, CountDownActionOptions.class);
+
+        eventOptions = new EventOptions();
+        eventOptionsJson = Codecs.EVENT_OPTIONS_WRITER.writeValueAsString(eventOptions);
+
+        // Same keys as Location#serialize()
+        location = new LinkedHashMap<>();
+        location.put("world", "world");
+        location.put("x", 128.5);
+        location.put("y", 64.0);
+        location.put("z", -256.5);
+        location.put("yaw", 90.0f);
+        location.put("pitch", 0.0f);
+        locationJson = Codecs.WRITER.writeValueAsString(location);
+
+        actionOptions = List.of(
+                new TitleShowActionOptions("Event starts!", "Good luck", "GOLD", "WHITE"),
+                new MessageSendActionOptions("§aThe event has started."),
+                new CommandExecuteActionOptions("say The event has started."),
+                new CountDownActionOptions(10, "ACTION_BAR"));
+        actionOptionsJson = actionOptions.stream().map(options -> {
+            try {
+                return OPTIONS_WRITER.writeValueAsString(options);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+
+    @Benchmark
+    public String writeEventOptions() throws IOException {
+        return Codecs.EVENT_OPTIONS_WRITER.writeValueAsString(eventOptions);
+    }
+
+    @Benchmark
+    public String writeEventOptionsPlain() throws IOException {
+        return PLAIN_MAPPER.writeValueAsString(eventOptions);
+    }
+
+    @Benchmark
+    public EventOptions readEventOptions() throws IOException {
+        return Codecs.EVENT_OPTIONS_READER.readValue(eventOptionsJson);
+    }
+
+    @Benchmark
+    public EventOptions readEventOptionsPlain() throws IOException {
+        return PLAIN_MAPPER.readValue(eventOptionsJson, EventOptions.class);
+    }
+
+    @Benchmark
+    public String writeLocation() throws IOException {
+        return Codecs.WRITER.writeValueAsString(location);
+    }
+
+    @Benchmark
+    public String writeLocationPlain() throws IOException {
+        return PLAIN_MAPPER.writeValueAsString(location);
+    }
+
+    @Benchmark
+    public Map<String, Object> readLocation() throws IOException {
+        return Codecs.LOCATION_READER.readValue(locationJson);
+    }
+
+    @Benchmark
+    public Map<String, Object> readLocationPlain() throws IOException {
+        return PLAIN_MAPPER.readValue(locationJson, new TypeReference<>() {
+        });
+    }
+
+    @Benchmark
+    public void writeActionOptions(Blackhole blackhole) throws IOException {
+        for (ActionOptions options : actionOptions)
+            blackhole.consume(OPTIONS_WRITER.writeValueAsString(options));
+    }
+
+    @Benchmark
+    public void writeActionOptionsPlain(Blackhole blackhole) throws IOException {
+        for (ActionOptions options : actionOptions)
+            blackhole.consume(PLAIN_MAPPER.writerFor(ActionOptions.class).writeValueAsString(options));
+    }
+
+    @Benchmark
+    public void readActionOptions(Blackhole blackhole) throws IOException {
+        for (String json : actionOptionsJson)
+            blackhole.consume(OPTIONS_READER.<ActionOptions>readValue(json));
+    }
+
+    @Benchmark
+    public void readActionOptionsPlain(Blackhole blackhole) throws IOException {
+        for (String json : actionOptionsJson)
+            blackhole.consume(PLAIN_MAPPER.readValue(json, ActionOptions.class));
+    }
+}
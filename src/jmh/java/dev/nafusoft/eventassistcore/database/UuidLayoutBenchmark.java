@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.codec;
+
+package dev.nafusoft.eventassistcore.database;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a page of UUID column values in the {@link UuidLayout#STRING STRING} layout,
+ * which parses 36 character text, with the {@link UuidLayout#BINARY BINARY} layout, which reads 16 bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UuidLayoutBenchmark {
+    private static final int ROWS = 256;
+
+    private final String[] strings = new String[ROWS];
+    private final byte[][] bytes = new byte[ROWS][];
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ROWS; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            strings[i] = uuid.toString();
+            bytes[i] = ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void decodeString(Blackhole blackhole) {
+        for (String value : strings)
+            blackhole.consume(UUID.fromString(value));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void decodeBinary(Blackhole blackhole) {
+        for (byte[] value : bytes)
+            blackhole.consume(UuidLayout.fromBytes(value));
+    }
+}
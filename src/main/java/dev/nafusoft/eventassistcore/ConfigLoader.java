@@ -16,6 +16,7 @@
 
 package dev.nafusoft.eventassistcore;
 
+import dev.nafusoft.eventassistcore.database.UuidLayout;
 import lombok.val;
 import org.bukkit.configuration.file.FileConfiguration;
 
@@ -35,8 +36,21 @@ public class ConfigLoader {
         val username = config.getString("initialization.database.username");
         val password = config.getString("initialization.database.password");
         val tablePrefix = config.getString("initialization.database.tablePrefix");
-
-        eventAssistConfig = new EventAssistConfig(databaseType, address, port, database, username, password, tablePrefix);
+        val databaseThreads = config.getInt("initialization.database.executor.threads", 2);
+        val databaseQueueSize = config.getInt("initialization.database.executor.queueSize", 1024);
+        val migrationDryRun = config.getBoolean("initialization.database.migrationDryRun", false);
+        val uuidLayout = UuidLayout.valueOf(config.getString("initialization.database.uuidLayout", "STRING"));
+        val endedEventCacheSize = config.getInt("cache.endedEvents.maximumSize", 256);
+        val endedEventCacheExpire = config.getLong("cache.endedEvents.expireAfter", 30);
+        val automationCacheSize = config.getInt("cache.automations.maximumSize", 256);
+        val entryBatchWindow = config.getLong("entry.batchWindow", 50);
+        val automationPrefetchWindow = config.getLong("automation.prefetchWindow", 60);
+        val automationTickBudget = config.getLong("automation.tickBudget", 5);
+
+        eventAssistConfig = new EventAssistConfig(databaseType, address, port, database, username, password, tablePrefix,
+                databaseThreads, databaseQueueSize, migrationDryRun, uuidLayout,
+                endedEventCacheSize, endedEventCacheExpire, automationCacheSize,
+                entryBatchWindow, automationPrefetchWindow, automationTickBudget);
     }
 
     public EventAssistConfig getConfig() {
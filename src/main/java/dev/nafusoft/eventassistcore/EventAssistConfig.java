@@ -16,9 +16,14 @@
 
 package dev.nafusoft.eventassistcore;
 
+import dev.nafusoft.eventassistcore.database.UuidLayout;
+
 public record EventAssistConfig(EventAssistConfig.DatabaseType databaseType,
                                 String address, int port, String database, String username, String password,
-                                String tablePrefix) {
+                                String tablePrefix, int databaseThreads, int databaseQueueSize, boolean migrationDryRun,
+                                UuidLayout uuidLayout,
+                                int endedEventCacheSize, long endedEventCacheExpire, int automationCacheSize,
+                                long entryBatchWindow, long automationPrefetchWindow, long automationTickBudget) {
     public enum DatabaseType {
         MARIADB("org.mariadb.jdbc.Driver", "jdbc:mariadb://"),
         MYSQL("com.mysql.jdbc.Driver", "jdbc:mysql://");
@@ -16,15 +16,19 @@
 
 package dev.nafusoft.eventassistcore;
 
+import dev.nafusoft.eventassistcore.automation.AutomationPrefetcher;
 import dev.nafusoft.eventassistcore.automation.EventAutomationManager;
 import dev.nafusoft.eventassistcore.automation.actions.*;
 import dev.nafusoft.eventassistcore.database.DatabaseConnector;
+import dev.nafusoft.eventassistcore.database.DatabaseExecutor;
 import dev.nafusoft.eventassistcore.gameevent.GameEventManager;
+import lombok.val;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 
 public final class EventAssistCore extends JavaPlugin {
     private static EventAssistCore instance;
@@ -35,6 +39,7 @@ public final class EventAssistCore extends JavaPlugin {
 
     private GameEventManager eventManager;
     private EventAutomationManager automationManager;
+    private final Executor mainThreadExecutor = command -> Bukkit.getScheduler().runTask(this, command);
 
 
     public static EventAssistCore getInstance() {
@@ -62,11 +67,16 @@ public final class EventAssistCore extends JavaPlugin {
                 getEventAssistConfig().address() + ":" + getEventAssistConfig().port(),
                 getEventAssistConfig().database(),
                 getEventAssistConfig().username(),
-                getEventAssistConfig().password());
+                getEventAssistConfig().password(),
+                getEventAssistConfig().databaseThreads(),
+                getEventAssistConfig().databaseQueueSize(),
+                getEventAssistConfig().tablePrefix(),
+                getEventAssistConfig().migrationDryRun(),
+                getEventAssistConfig().uuidLayout());
 
         try {
-            eventManager = new GameEventManager(config.tablePrefix(), connector);
-            automationManager = new EventAutomationManager(config.tablePrefix(), connector);
+            eventManager = new GameEventManager(config, connector);
+            automationManager = new EventAutomationManager(config, connector);
         } catch (SQLException e) {
             connector.close();
 
@@ -76,20 +86,41 @@ public final class EventAssistCore extends JavaPlugin {
                     """, e);
         }
 
+        if (connector.getMigrator().isDryRun()) {
+            val report = connector.getMigrator().getReport();
+            if (report.isEmpty()) {
+                getLogger().info("Migration dry run: the database schema is up to date.");
+            } else {
+                getLogger().info("Migration dry run: the following changes will be applied.");
+                report.forEach(line -> getLogger().info("  " + line));
+            }
+            connector.close();
+
+            throw new IllegalStateException("""
+                    The plugin has been stopped because migrationDryRun is enabled.
+                    Please set migrationDryRun to false in the configuration file to apply the migrations.
+                    """);
+        }
+
         // Initialize actions
-        automationManager.getActionRegistry().registerAction(CommandExecuteAction.class, CommandExecuteActionOptions.class);
-        automationManager.getActionRegistry().registerAction(TitleShowAction.class, TitleShowActionOptions.class);
-        automationManager.getActionRegistry().registerAction(MessageSendAction.class, MessageSendActionOptions.class);
-        automationManager.getActionRegistry().registerAction(SoundPlayAction.class, SoundPlayActionOptions.class);
-        automationManager.getActionRegistry().registerAction(ItemGiveAction.class, ItemGiveActionOptions.class);
-        automationManager.getActionRegistry().registerAction(TeleportAction.class, EmptyActionOptions.class);
-        automationManager.getActionRegistry().registerAction(CountDownAction.class, EmptyActionOptions.class);
+        // The type ids are stored with automations, so they must not be changed.
+        automationManager.getActionRegistry().registerAction("command", CommandExecuteAction.class, CommandExecuteActionOptions.class);
+        automationManager.getActionRegistry().registerAction("title", TitleShowAction.class, TitleShowActionOptions.class);
+        automationManager.getActionRegistry().registerAction("message", MessageSendAction.class, MessageSendActionOptions.class);
+        automationManager.getActionRegistry().registerAction("sound", SoundPlayAction.class, SoundPlayActionOptions.class);
+        automationManager.getActionRegistry().registerAction("item_give", ItemGiveAction.class, ItemGiveActionOptions.class);
+        automationManager.getActionRegistry().registerAction("teleport", TeleportAction.class, EmptyActionOptions.class);
+        automationManager.getActionRegistry().registerAction("countdown", CountDownAction.class, CountDownActionOptions.class);
 
         // Initialize an audiences instance for the plugin
         this.adventure = BukkitAudiences.create(this);
 
-        // イベント開始・終了の定期確認
-        Bukkit.getServer().getScheduler().runTaskTimer(this, new EventTimer(getEventManager()), 0L, 20L);
+        // イベント開始・終了の確認 (毎tick、期限が来たイベントのみ処理)
+        Bukkit.getServer().getScheduler().runTaskTimer(this, new EventTimer(getEventManager().getDeadlineQueue()), 0L, 1L);
+        // 開始・終了が近いイベントのオートメーションを事前に読み込む
+        Bukkit.getServer().getScheduler().runTaskTimerAsynchronously(this,
+                new AutomationPrefetcher(getEventManager(), getAutomationManager(), getEventAssistConfig().automationPrefetchWindow()),
+                0L, 20L);
     }
 
     @Override
@@ -97,6 +128,10 @@ public final class EventAssistCore extends JavaPlugin {
         // Plugin shutdown logic
         Bukkit.getServer().getScheduler().cancelTasks(this);
 
+        // Entries made within the last batch window have not been saved yet.
+        if (eventManager != null)
+            eventManager.getEntryPipeline().close();
+
         if (connector != null) {
             connector.close();
             connector = null;
@@ -112,6 +147,20 @@ public final class EventAssistCore extends JavaPlugin {
         return adventure;
     }
 
+    /**
+     * Returns an executor that runs tasks on the main thread.
+     * Use it to return to the main thread from futures completed on a database thread.
+     *
+     * @return Main thread executor
+     */
+    public Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    public DatabaseExecutor getDatabaseExecutor() {
+        return connector.getExecutor();
+    }
+
     public GameEventManager getEventManager() {
         return eventManager;
     }
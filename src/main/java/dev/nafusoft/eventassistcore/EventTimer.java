@@ -18,31 +18,46 @@ package dev.nafusoft.eventassistcore;
 
 import dev.nafusoft.eventassistcore.event.GameEventEndEvent;
 import dev.nafusoft.eventassistcore.event.GameEventStartEvent;
-import dev.nafusoft.eventassistcore.gameevent.GameEventManager;
+import dev.nafusoft.eventassistcore.gameevent.EventDeadlineQueue;
+import dev.nafusoft.eventassistcore.gameevent.GameEvent;
 import dev.nafusoft.eventassistcore.gameevent.GameEventStatus;
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
 import org.bukkit.Bukkit;
 
-import java.util.ArrayList;
-import java.util.Date;
+import java.util.logging.Level;
 
+/**
+ * Runs every tick and fires the start and end of the events whose deadline has come.
+ * Only the head of the {@link EventDeadlineQueue} is checked, so the cost does not depend on the number of events.
+ */
 public class EventTimer implements Runnable {
-    private final GameEventManager eventRegistry;
+    /**
+     * A transition that has not changed the status of its event is fired again after this delay.
+     */
+    private static final long RETRY_DELAY_MILLIS = 1000L;
+
+    private final EventDeadlineQueue deadlineQueue;
 
-    public EventTimer(GameEventManager eventRegistry) {
-        this.eventRegistry = eventRegistry;
+    public EventTimer(EventDeadlineQueue deadlineQueue) {
+        this.deadlineQueue = deadlineQueue;
     }
 
     @Override
     public void run() {
-        var date = new Date();
-        new ArrayList<>(eventRegistry.getEvents(GameEventStatus.UPCOMING)).forEach(event -> {
-            if (event.getEventStartTime() < date.getTime())
-                Bukkit.getServer().getPluginManager().callEvent(new GameEventStartEvent(event));
-        });
-
-        new ArrayList<>(eventRegistry.getEvents(GameEventStatus.HOLDING)).forEach(event -> {
-            if (event.getEventEndTime() == 0 || event.getEventEndTime() < date.getTime())
-                Bukkit.getServer().getPluginManager().callEvent(new GameEventEndEvent(event));
-        });
+        long now = System.currentTimeMillis();
+        GameEvent event;
+        while ((event = deadlineQueue.pollDue(now)) != null) {
+            try {
+                if (event.getEventStatus() == GameEventStatus.UPCOMING)
+                    Bukkit.getServer().getPluginManager().callEvent(new GameEventStartEvent(event));
+                else if (event.getEventStatus() == GameEventStatus.HOLDING)
+                    Bukkit.getServer().getPluginManager().callEvent(new GameEventEndEvent(event));
+            } catch (RuntimeException e) {
+                PluginLogger.log(Level.WARNING, "An error occurred while changing the status of " + event.getEventName() + ".", e);
+            } finally {
+                // Changing the status reschedules the event. If it has not changed, the transition is fired again later.
+                deadlineQueue.retry(event, now + RETRY_DELAY_MILLIS);
+            }
+        }
     }
 }
@@ -20,15 +20,20 @@ import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.EventAutomationManager;
 import dev.nafusoft.eventassistcore.automation.actions.AutomationAction;
+import dev.nafusoft.eventassistcore.database.DatabaseExecutor;
 import dev.nafusoft.eventassistcore.gameevent.GameEvent;
 import dev.nafusoft.eventassistcore.gameevent.GameEventBuilder;
 import dev.nafusoft.eventassistcore.gameevent.GameEventManager;
 import dev.nafusoft.eventassistcore.gameevent.GameEventStatus;
+import dev.nafusoft.eventassistcore.gameevent.GameEventSummary;
+import dev.nafusoft.eventassistcore.gameevent.HistoryPage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public final class EventAssistAPI {
     private final EventAssistCore eventAssist;
@@ -50,6 +55,15 @@ public final class EventAssistAPI {
         return eventAssist.getAutomationManager();
     }
 
+    /**
+     * Returns the executor that runs database work. It also provides queue depth and rejection metrics.
+     *
+     * @return {@link DatabaseExecutor DatabaseExecutor}
+     */
+    public DatabaseExecutor getDatabaseExecutor() {
+        return eventAssist.getDatabaseExecutor();
+    }
+
     /**
      * Get registered events.
      *
@@ -62,6 +76,7 @@ public final class EventAssistAPI {
 
     /**
      * Get events for the specified status state.
+     * For ENDED, and for null while ended events are cached, a new list is built on every call.
      *
      * @param eventStatus The status to get, if null is specified, return all events.
      * @return List of {@link GameEvent GameEvent} with the corresponding status state
@@ -70,6 +85,76 @@ public final class EventAssistAPI {
         return getEventManager().getEvents(eventStatus);
     }
 
+    /**
+     * Get registered events without blocking the calling thread.
+     *
+     * @param id Event id to get
+     * @return Future completed with the event, or with null if there is no event with the specified id.
+     * @see DatabaseExecutor DatabaseExecutor for the thread the future is completed on
+     */
+    public @NotNull CompletableFuture<GameEvent> getEventAsync(@NotNull UUID id) {
+        return getEventManager().getEventAsync(id);
+    }
+
+    /**
+     * Get summaries of events ordered by start date, without reading location, entrant and options data.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param eventStatus The status to get, if null is specified, return all events.
+     * @param limit       Maximum number of summaries to return
+     * @param offset      Number of summaries to skip
+     * @return List of {@link GameEventSummary GameEventSummary}
+     */
+    public @NotNull List<GameEventSummary> getSummaries(@Nullable GameEventStatus eventStatus, int limit, int offset) {
+        return getEventManager().getSummaries(eventStatus, limit, offset);
+    }
+
+    /**
+     * Get one page of ended events, newest first.
+     * Pass {@link HistoryPage#nextKey()} of the returned page to get the next one.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param after Key of the last event on the previous page, if null is specified, return the first page.
+     * @param limit Maximum number of summaries on the page
+     * @return {@link HistoryPage HistoryPage}
+     */
+    public @NotNull HistoryPage getHistory(@Nullable HistoryPage.Key after, int limit) {
+        return getEventManager().getHistory(after, limit);
+    }
+
+    /**
+     * Passes all ended events to the consumer, newest first, without holding them in memory.
+     * This reads the database and blocks until every event has been passed, so it should not be called on the main thread.
+     *
+     * @param consumer Receives each summary
+     * @return true if every event has been passed, false if reading has failed.
+     */
+    public boolean streamHistory(@NotNull Consumer<GameEventSummary> consumer) {
+        return getEventManager().streamHistory(consumer);
+    }
+
+    /**
+     * Get the upcoming and holding events the player has entered.
+     *
+     * @param playerId Player to look up
+     * @return List of {@link GameEvent GameEvent} the player has entered
+     */
+    public @NotNull List<GameEvent> getEventsOf(@NotNull UUID playerId) {
+        return getEventManager().getEventsOf(playerId);
+    }
+
+    /**
+     * Performs the given action for each event with the specified status.
+     * With UPCOMING or HOLDING, this is suitable for consumers that run every tick, as no lock is taken and nothing is allocated.
+     * Visiting ended events, with null or ENDED, allocates an iterator over the ended event cache.
+     *
+     * @param eventStatus The status to visit, if null is specified, visit all events.
+     * @param consumer    Action to perform for each event
+     */
+    public void forEachEvent(@Nullable GameEventStatus eventStatus, @NotNull Consumer<? super GameEvent> consumer) {
+        getEventManager().forEachEvent(eventStatus, consumer);
+    }
+
     /**
      * Returns a builder to create a new event.
      *
@@ -99,6 +184,20 @@ public final class EventAssistAPI {
         getAutomationManager().getActionRegistry().registerAction(action, options);
     }
 
+    /**
+     * Register an action and its options with a short type id, which is stored in place of the class name.
+     * The id must never change once automations using the action have been saved.
+     *
+     * @param typeId  Type id of the action
+     * @param action  Action to register
+     * @param options Options to register
+     */
+    public void registerAction(@NotNull String typeId,
+                               @NotNull Class<? extends AutomationAction> action,
+                               @NotNull Class<? extends ActionOptions> options) {
+        getAutomationManager().getActionRegistry().registerAction(typeId, action, options);
+    }
+
 
     private static class InstanceHolder {
         private static final EventAssistAPI INSTANCE;
@@ -17,11 +17,14 @@
 package dev.nafusoft.eventassistcore.automation;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import dev.nafusoft.eventassistcore.automation.actions.ActionTypeIdResolver;
 
 /**
  * Treat all fields in classes implementing this interface as options for the action.<br>
  * All types are String and all fields are initialized in the constructor.
  */
-@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, property = "@class")
+@JsonTypeIdResolver(ActionTypeIdResolver.class)
 public interface ActionOptions {
 }
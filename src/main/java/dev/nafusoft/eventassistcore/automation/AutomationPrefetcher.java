@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation;
+
+import dev.nafusoft.eventassistcore.gameevent.GameEvent;
+import dev.nafusoft.eventassistcore.gameevent.GameEventManager;
+import dev.nafusoft.eventassistcore.gameevent.GameEventStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs periodically off the main thread and loads the automations of the events that start or end within the window.<br>
+ * When the event starts or ends, its automations are then read from memory instead of the database.
+ * Broken actions are also reported in the log before the event starts, rather than at the moment they should run.
+ * A run that is still reading the database when the next one is due makes the next one skip, so the same automations are not read twice.
+ */
+public class AutomationPrefetcher implements Runnable {
+    private final GameEventManager eventManager;
+    private final EventAutomationManager automationManager;
+    private final long windowMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AutomationPrefetcher(GameEventManager eventManager, EventAutomationManager automationManager, long windowSeconds) {
+        this.eventManager = eventManager;
+        this.automationManager = automationManager;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+    }
+
+    @Override
+    public void run() {
+        if (!running.compareAndSet(false, true))
+            return;
+
+        try {
+            long limit = System.currentTimeMillis() + windowMillis;
+            eventManager.forEachEvent(GameEventStatus.UPCOMING, event -> {
+                if (event.getEventStartTime() <= limit)
+                    prefetch(event);
+            });
+            eventManager.forEachEvent(GameEventStatus.HOLDING, event -> {
+                if (event.getEventEndTime() <= limit)
+                    prefetch(event);
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void prefetch(GameEvent event) {
+        if (!automationManager.isCached(event.getEventId()))
+            automationManager.getStartAutomation(event.getEventId()); // Start and end automations are loaded together.
+    }
+}
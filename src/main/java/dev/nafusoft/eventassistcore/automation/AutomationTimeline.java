@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation;
+
+import dev.nafusoft.eventassistcore.automation.actions.AutomationAction;
+import dev.nafusoft.eventassistcore.gameevent.GameEvent;
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Runs the actions of an automation one after another, with the automation delay between them.<br>
+ * Each action is scheduled as its own asynchronous task once the previous one has finished, so no thread waits during the delay.
+ */
+public final class AutomationTimeline {
+    private final Plugin plugin;
+    private final AutomationActionContext context;
+    private final List<AutomationAction> actions;
+    private final long delayTicks;
+    private int next;
+
+    private AutomationTimeline(Plugin plugin, GameEvent gameEvent, EventAutomation automation) {
+        this.plugin = plugin;
+        this.context = new AutomationActionContext(gameEvent);
+        this.actions = automation.getActions();
+        this.delayTicks = automation.getAutomationDelayTime() * 20L;
+    }
+
+    /**
+     * Runs the first action on the calling thread and schedules the rest.
+     * The calling thread must not be the main thread, as actions expect to run off it.
+     *
+     * @param plugin     Plugin that owns the scheduled tasks
+     * @param gameEvent  Event the automation belongs to
+     * @param automation Automation to run
+     */
+    public static void start(@NotNull Plugin plugin, @NotNull GameEvent gameEvent, @NotNull EventAutomation automation) {
+        new AutomationTimeline(plugin, gameEvent, automation).runNext();
+    }
+
+    private void runNext() {
+        if (next >= actions.size())
+            return;
+
+        AutomationAction action = actions.get(next++);
+        try {
+            action.execute(context);
+        } catch (RuntimeException e) {
+            PluginLogger.log(Level.WARNING, "An error occurred while performing an automation action.", e);
+        }
+
+        if (next < actions.size() && plugin.isEnabled())
+            Bukkit.getServer().getScheduler().runTaskLaterAsynchronously(plugin, this::runNext, delayTicks + action.getDurationTicks());
+    }
+}
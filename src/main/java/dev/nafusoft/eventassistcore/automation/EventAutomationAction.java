@@ -16,16 +16,32 @@
 
 package dev.nafusoft.eventassistcore.automation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import dev.nafusoft.eventassistcore.automation.actions.ActionTypeIdResolver;
 
-@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, property = "@class")
+@JsonTypeIdResolver(ActionTypeIdResolver.class)
 public interface EventAutomationAction {
 
     /**
      * 設計上メインスレッドとは別スレッド上で動作するため、同期処理はそのままでは実行することができません。
      * それらの処理を実行する場合は{@link org.bukkit.scheduler.BukkitScheduler#runTask}を使用してください。
+     * 参加者全員に対して実行する場合は{@link PlayerFanOut#run}を使用してください。
      */
     void execute(AutomationActionContext content);
 
     ActionOptions getOptions();
+
+    /**
+     * Returns how long the action keeps running after {@link #execute} has returned, such as a countdown.
+     * The next action of the automation is delayed by this time.
+     *
+     * @return Duration in ticks
+     */
+    @JsonIgnore
+    default long getDurationTicks() {
+        return 0L;
+    }
 }
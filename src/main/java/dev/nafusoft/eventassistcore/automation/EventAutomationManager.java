@@ -16,17 +16,20 @@
 
 package dev.nafusoft.eventassistcore.automation;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import dev.nafusoft.eventassistcore.EventAssistConfig;
 import dev.nafusoft.eventassistcore.automation.actions.ActionRegistry;
 import dev.nafusoft.eventassistcore.automation.actions.AutomationAction;
+import dev.nafusoft.eventassistcore.codec.Codecs;
 import dev.nafusoft.eventassistcore.database.DatabaseConnector;
 import dev.nafusoft.eventassistcore.database.EventAutomationTable;
-import dev.nafusoft.eventassistcore.exception.EventRegisterException;
 import dev.nafusoft.eventassistcore.gameevent.GameEvent;
 import dev.nafusoft.eventassistcore.gameevent.GameEventBuilder;
 import dev.nafusoft.eventassistcore.utils.PluginLogger;
@@ -35,21 +38,31 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public final class EventAutomationManager extends EventAutomationTable {
-    private static final Gson gson = new Gson();
-    private static final ObjectMapper MAPPER = new ObjectMapper();
     private final ActionRegistry actionRegistry;
+    private final Cache<UUID, CachedAutomations> automationCache;
+    private final Map<UUID, Long> writeGenerations; // Bumped after each write, so that loads started before it are not cached.
 
-    public EventAutomationManager(@Nullable String prefix, @NotNull DatabaseConnector connector) throws SQLException {
-        super(prefix, "automations", connector);
+    public EventAutomationManager(@NotNull EventAssistConfig config, @NotNull DatabaseConnector connector) throws SQLException {
+        super(config.tablePrefix(), "automations", connector);
         createTable();
 
         actionRegistry = new ActionRegistry();
+        // Parsed automations are kept so that repeated lookups neither read the row nor parse the JSON again.
+        automationCache = CacheBuilder.newBuilder()
+                .maximumSize(config.automationCacheSize())
+                .recordStats()
+                .build();
+        writeGenerations = new ConcurrentHashMap<>();
     }
 
     /**
@@ -69,33 +82,79 @@ public final class EventAutomationManager extends EventAutomationTable {
      * @return {@link GameEventBuilder GameEventBuilder}
      */
     public @NotNull AutomationBuilder getBuilder(@NotNull GameEvent event, AutomationType automationType) {
-        try {
-            add(event.getEventId());
-        } catch (SQLException e) {
-            throw new EventRegisterException("Failed to register automation", e);
-        }
-
         return new AutomationBuilder(this, event, automationType);
     }
 
     public @Nullable EventAutomation getStartAutomation(@NotNull UUID eventId) {
-        try {
-            String[] automations = getById(eventId);
-            return readJsonSafe(automations[0], eventId);
-        } catch (SQLException e) {
-            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
-            return null;
-        }
+        val automations = getAutomations(eventId);
+        return automations != null ? automations.start() : null;
     }
 
     public @Nullable EventAutomation getEndAutomation(@NotNull UUID eventId) {
-        try {
-            String[] automations = getById(eventId);
-            return readJsonSafe(automations[1], eventId);
-        } catch (SQLException e) {
-            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+        val automations = getAutomations(eventId);
+        return automations != null ? automations.end() : null;
+    }
+
+    /**
+     * Reads the start automation on the database executor.
+     *
+     * @param eventId Event id to get
+     * @return Future completed with the automation, or with null if there is none.
+     * @see dev.nafusoft.eventassistcore.database.DatabaseExecutor DatabaseExecutor for the thread the future is completed on
+     */
+    public @NotNull CompletableFuture<EventAutomation> getStartAutomationAsync(@NotNull UUID eventId) {
+        return supplyAsync(() -> getStartAutomation(eventId));
+    }
+
+    /**
+     * Reads the end automation on the database executor.
+     *
+     * @param eventId Event id to get
+     * @return Future completed with the automation, or with null if there is none.
+     * @see dev.nafusoft.eventassistcore.database.DatabaseExecutor DatabaseExecutor for the thread the future is completed on
+     */
+    public @NotNull CompletableFuture<EventAutomation> getEndAutomationAsync(@NotNull UUID eventId) {
+        return supplyAsync(() -> getEndAutomation(eventId));
+    }
+
+    /**
+     * Returns whether the automations of the event are in memory, so that getting them does not read the database.
+     *
+     * @param eventId Event id to check
+     * @return true if the automations are in memory
+     */
+    public boolean isCached(@NotNull UUID eventId) {
+        return automationCache.getIfPresent(eventId) != null;
+    }
+
+    /**
+     * Returns statistics of the parsed automation cache.
+     *
+     * @return {@link CacheStats CacheStats}
+     */
+    public @NotNull CacheStats getAutomationCacheStats() {
+        return automationCache.stats();
+    }
+
+    /**
+     * Drops the write generation of an event that has ended. The parsed automations are kept, as the end automation is about to run.
+     *
+     * @param eventId Event that has ended
+     */
+    public void releaseEvent(@NotNull UUID eventId) {
+        writeGenerations.remove(eventId);
+    }
+
+    /**
+     * Drops the parsed automations and the write generation of a deleted event.
+     *
+     * @param eventId Event that has been deleted
+     */
+    public void evictEvent(@NotNull UUID eventId) {
+        writeGenerations.compute(eventId, (key, generation) -> {
+            automationCache.invalidate(eventId);
             return null;
-        }
+        });
     }
 
     void updateAutomation(@NotNull UUID eventId, @NotNull EventAutomation automation, AutomationType type) {
@@ -106,6 +165,39 @@ public final class EventAutomationManager extends EventAutomationTable {
                 updateEndAutomation(eventId, automation);
         } catch (SQLException | JsonProcessingException e) {
             PluginLogger.log(Level.WARNING, "Failed to update automation.", e);
+        } finally {
+            writeGenerations.compute(eventId, (key, generation) -> {
+                automationCache.invalidate(eventId);
+                return generation == null ? 1L : generation + 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the parsed start and end automations of the event, reading both from one row on a cache miss.<br>
+     * The loaded automations are only cached if the automation has not been updated while the row was being read.
+     *
+     * @param eventId Event id to get
+     * @return Parsed automations, or null if reading the database has failed.
+     */
+    private @Nullable CachedAutomations getAutomations(@NotNull UUID eventId) {
+        val cached = automationCache.getIfPresent(eventId);
+        if (cached != null)
+            return cached;
+
+        long readGeneration = writeGenerations.getOrDefault(eventId, 0L);
+        try {
+            String[] automations = getById(eventId);
+            val loaded = new CachedAutomations(readJsonSafe(automations[0], eventId), readJsonSafe(automations[1], eventId));
+            writeGenerations.compute(eventId, (key, generation) -> {
+                if ((generation == null ? 0L : generation) == readGeneration)
+                    automationCache.put(eventId, loaded);
+                return generation;
+            });
+            return loaded;
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return null;
         }
     }
 
@@ -114,27 +206,42 @@ public final class EventAutomationManager extends EventAutomationTable {
             return null;
 
         val loadFailed = new ArrayList<String>(); // Stores the Json of Automation Actions that failed to load.
+        val actions = new ArrayList<AutomationAction>();
+        int automationDelayTime = 0;
+        PluginLogger.log(Level.INFO, "Loading automation (EventID = {0})", eventId);
 
-        JsonObject baseJson = gson.fromJson(automationJson, JsonObject.class);
-
-        int automationDelayTime = baseJson.get("automationDelayTime").getAsInt();
-        JsonArray actionsArray = baseJson.getAsJsonArray("actions");
-        PluginLogger.log(Level.INFO, "Loading automation (EventID = {0}, Find = {1})", new Object[]{eventId, actionsArray.size()});
+        // Read the automation in one pass. Each action is buffered as tokens, so that a broken action does not stop the others from loading.
+        try (JsonParser parser = Codecs.createParser(automationJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new JsonParseException(parser, "Automation must be a JSON object.");
 
-        // Start load action
-        val actions = new ArrayList<AutomationAction>();
-        for (JsonElement action : actionsArray) {
-            val actionBody = action.getAsJsonObject().toString();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val fieldName = parser.getCurrentName();
+                val token = parser.nextToken();
+                if ("automationDelayTime".equals(fieldName)) {
+                    automationDelayTime = parser.getValueAsInt();
+                } else if ("actions".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        val actionTokens = new TokenBuffer(parser);
+                        actionTokens.copyCurrentStructure(parser);
 
-            try {
-                val actionObject = MAPPER.readValue(actionBody, AutomationAction.class);
+                        try (JsonParser actionParser = actionTokens.asParser(Codecs.ACTION_READER)) {
+                            AutomationAction actionObject = Codecs.ACTION_READER.readValue(actionParser);
 
-                if (actionObject != null)
-                    actions.add(actionObject);
-            } catch (JsonProcessingException e) {
-                PluginLogger.log(Level.WARNING, "Failed to load action!", e);
-                loadFailed.add(actionBody);
+                            if (actionObject != null)
+                                actions.add(actionObject);
+                        } catch (IOException e) {
+                            PluginLogger.log(Level.WARNING, "Failed to load action!", e);
+                            loadFailed.add(Codecs.WRITER.writeValueAsString(actionTokens));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
             }
+        } catch (IOException e) {
+            PluginLogger.log(Level.WARNING, "Failed to load automation! (EventID = " + eventId + ")", e);
+            return null;
         }
 
         // Build EventAutomation object
@@ -145,4 +252,8 @@ public final class EventAutomationManager extends EventAutomationTable {
 
         return loadedEventAutomation;
     }
+
+
+    private record CachedAutomations(@Nullable EventAutomation start, @Nullable EventAutomation end) {
+    }
 }
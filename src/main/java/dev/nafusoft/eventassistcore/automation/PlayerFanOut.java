@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation;
+
+import dev.nafusoft.eventassistcore.EventAssistCore;
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Applies an action to many players from a single main-thread task.<br>
+ * Each tick the task processes players until the tick budget ({@code automation.tickBudget}) is used up,
+ * and continues with the remaining players on the next tick.
+ */
+public final class PlayerFanOut {
+    private final String name;
+    private final List<UUID> players;
+    private final Consumer<Player> action;
+    private final long budgetNanos;
+    private final CompletableFuture<Report> future = new CompletableFuture<>();
+    private final long startedAt = System.nanoTime();
+
+    private int position;
+    private int ticks;
+    private long busyNanos;
+
+    private PlayerFanOut(String name, List<UUID> players, Consumer<Player> action, long budgetMillis) {
+        this.name = name;
+        this.players = players;
+        this.action = action;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Applies the action to the players that are online.
+     * This can be called from any thread. The action is always run on the main thread.
+     *
+     * @param name    Name shown in the report
+     * @param players Players to apply the action to
+     * @param action  Action to apply to each online player
+     * @return Future completed with the report on the main thread, after the action has been applied to every player.
+     */
+    public static @NotNull CompletableFuture<Report> run(@NotNull String name,
+                                                         @NotNull Collection<UUID> players,
+                                                         @NotNull Consumer<Player> action) {
+        EventAssistCore plugin = EventAssistCore.getInstance();
+        PlayerFanOut fanOut = new PlayerFanOut(name, List.copyOf(players), action, plugin.getEventAssistConfig().automationTickBudget());
+        if (fanOut.players.isEmpty() || !plugin.isEnabled())
+            fanOut.future.complete(new Report(0, 0, 0, 0));
+        else
+            Bukkit.getServer().getScheduler().runTaskTimer(plugin, fanOut::tick, 0L, 1L);
+        return fanOut.future;
+    }
+
+    private void tick(BukkitTask task) {
+        long tickStart = System.nanoTime();
+        long deadline = tickStart + budgetNanos;
+        ticks++;
+
+        do {
+            Player player = Bukkit.getPlayer(players.get(position++));
+            if (player == null)
+                continue;
+
+            try {
+                action.accept(player);
+            } catch (RuntimeException e) {
+                PluginLogger.log(Level.WARNING, "An error occurred while performing " + name + " for " + player.getName() + ".", e);
+            }
+        } while (position < players.size() && System.nanoTime() < deadline);
+        busyNanos += System.nanoTime() - tickStart;
+
+        if (position >= players.size()) {
+            task.cancel();
+            Report report = new Report(players.size(), ticks,
+                    TimeUnit.NANOSECONDS.toMillis(busyNanos), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            PluginLogger.log(Level.INFO, "{0} performed for {1} players in {2} ticks ({3} ms on the main thread, {4} ms in total)",
+                    new Object[]{name, report.players(), report.ticks(), report.busyMillis(), report.elapsedMillis()});
+            future.complete(report);
+        }
+    }
+
+
+    /**
+     * @param players       Number of players the action was applied to, including those that were offline
+     * @param ticks         Number of ticks the action was spread over
+     * @param busyMillis    Time spent on the main thread
+     * @param elapsedMillis Time from the call to the last player
+     */
+    public record Report(int players, int ticks, long busyMillis, long elapsedMillis) {
+    }
+}
@@ -34,17 +34,38 @@ public final class ActionRegistry {
 
     /**
      * Register an action and its options.
+     * The action is stored with its class name, so it can no longer be read if the class is renamed.
      *
      * @param action  Action to register
      * @param options Options to register
+     * @see #registerAction(String, Class, Class)
      */
     public void registerAction(@NotNull Class<? extends AutomationAction> action, @NotNull Class<? extends ActionOptions> options) {
+        registerAction(action.getName(), action, options);
+    }
+
+    /**
+     * Register an action and its options with a short type id.
+     * The id is stored in place of the class name, so it must never change once automations using the action have been saved.
+     * If the options are not registered yet, they are registered with the same id.
+     *
+     * @param typeId  Type id of the action
+     * @param action  Action to register
+     * @param options Options to register
+     */
+    public void registerAction(@NotNull String typeId,
+                               @NotNull Class<? extends AutomationAction> action,
+                               @NotNull Class<? extends ActionOptions> options) {
+        Objects.requireNonNull(typeId);
         Objects.requireNonNull(action);
         Objects.requireNonNull(options);
 
         // ActionOptions must be Record
         if (!options.isRecord()) throw new IllegalArgumentException("ActionOptions must be Record");
 
+        ActionTypeIdResolver.registerAction(typeId, action);
+        if (!ActionTypeIdResolver.isOptionsRegistered(options))
+            ActionTypeIdResolver.registerOptions(typeId, options);
         actions.put(action, options);
     }
 
@@ -55,4 +76,12 @@ public final class ActionRegistry {
     public @Nullable Class<? extends ActionOptions> getOption(Class<? extends AutomationAction> action) {
         return actions.get(action);
     }
+
+    /**
+     * @param action Registered action
+     * @return Type id the action is stored with, or null if the action is not registered.
+     */
+    public @Nullable String getTypeId(@NotNull Class<? extends AutomationAction> action) {
+        return ActionTypeIdResolver.getActionTypeId(action);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation.actions;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+import dev.nafusoft.eventassistcore.automation.ActionOptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the type of actions and options from the short ids given in {@link ActionRegistry}.<br>
+ * Ids are stored in the {@code @class} property, the same property older versions stored full class names in.
+ * Those class names are still resolved, through a table filled when the types are registered.
+ */
+public final class ActionTypeIdResolver extends TypeIdResolverBase {
+    private static final TypeTable ACTIONS = new TypeTable();
+    private static final TypeTable OPTIONS = new TypeTable();
+
+    static {
+        OPTIONS.register("empty", EmptyActionOptions.class);
+    }
+
+    private TypeTable table;
+
+    static void registerAction(@NotNull String typeId, @NotNull Class<? extends AutomationAction> action) {
+        ACTIONS.register(typeId, action);
+    }
+
+    static void registerOptions(@NotNull String typeId, @NotNull Class<? extends ActionOptions> options) {
+        OPTIONS.register(typeId, options);
+    }
+
+    static @Nullable String getActionTypeId(@NotNull Class<? extends AutomationAction> action) {
+        return ACTIONS.ids.get(action);
+    }
+
+    static boolean isOptionsRegistered(@NotNull Class<? extends ActionOptions> options) {
+        return OPTIONS.ids.containsKey(options);
+    }
+
+    @Override
+    public void init(JavaType baseType) {
+        super.init(baseType);
+        table = ActionOptions.class.isAssignableFrom(baseType.getRawClass()) ? OPTIONS : ACTIONS;
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        return idFromValueAndType(value, value.getClass());
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        String id = table.ids.get(suggestedType);
+        return id != null ? id : suggestedType.getName(); // Types that have not been registered are written as before.
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        Class<?> type = table.types.get(id);
+        if (type == null && id.indexOf('.') >= 0) {
+            // A class name of a type that has not been registered, such as one from a plugin that registers its actions later.
+            JavaType resolved = context.resolveAndValidateSubType(_baseType, id, context.getConfig().getPolymorphicTypeValidator());
+            if (resolved != null)
+                table.types.putIfAbsent(id, resolved.getRawClass());
+            return resolved;
+        }
+        return type != null ? context.constructSpecializedType(_baseType, type) : null;
+    }
+
+    @Override
+    public String getDescForKnownTypeIds() {
+        return String.join(", ", table.types.keySet());
+    }
+
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+
+
+    private static final class TypeTable {
+        private final Map<String, Class<?>> types = new ConcurrentHashMap<>();
+        private final Map<Class<?>, String> ids = new ConcurrentHashMap<>();
+
+        private void register(String typeId, Class<?> type) {
+            Class<?> registered = types.get(typeId);
+            if (registered != null && registered != type)
+                throw new IllegalArgumentException("The type id '" + typeId + "' is already used by " + registered.getName());
+
+            types.put(typeId, type);
+            types.put(type.getName(), type); // Rows written by older versions refer to the type by its class name.
+            ids.put(type, typeId);
+        }
+    }
+}
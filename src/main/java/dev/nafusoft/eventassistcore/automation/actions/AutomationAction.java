@@ -18,10 +18,16 @@ package dev.nafusoft.eventassistcore.automation.actions;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.EventAutomationAction;
+import dev.nafusoft.eventassistcore.gameevent.GameEvent;
+import net.kyori.adventure.audience.Audience;
+import org.bukkit.entity.Player;
 
-@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, property = "@class")
+@JsonTypeIdResolver(ActionTypeIdResolver.class)
 public abstract class AutomationAction implements EventAutomationAction {
     private final ActionOptions options;
 
@@ -33,4 +39,16 @@ public abstract class AutomationAction implements EventAutomationAction {
     public ActionOptions getOptions() {
         return options;
     }
+
+    /**
+     * Returns an audience of the online entrants of the event.
+     * Membership is checked when something is sent, so the audience can be kept while players join and leave.
+     *
+     * @param gameEvent Event whose entrants to target
+     * @return {@link Audience Audience} forwarding to the online entrants
+     */
+    protected static Audience getEntrantAudience(GameEvent gameEvent) {
+        return EventAssistCore.getInstance().getAdventure()
+                .filter(sender -> sender instanceof Player player && gameEvent.isEntrant(player.getUniqueId()));
+    }
 }
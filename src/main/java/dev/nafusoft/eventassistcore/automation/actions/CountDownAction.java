@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 NAFU_at
+ * Copyright 2023 NAFU_at
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,20 +13,34 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package dev.nafusoft.eventassistcore.automation.actions;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
-import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.TextComponent;
+import dev.nafusoft.eventassistcore.gameevent.GameEvent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Objects;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Counts down to zero, showing the remaining seconds to the online entrants.<br>
+ * Each countdown is driven by one repeating main-thread task for its event. Starting a new countdown for the same event replaces the running one.
+ */
 public class CountDownAction extends AutomationAction {
+    private static final Map<UUID, Countdown> RUNNING = new ConcurrentHashMap<>();
+    private static final Title.Times TITLE_TIMES = Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO);
 
     public CountDownAction(@JsonProperty("options") ActionOptions options) {
         super(options);
@@ -34,18 +48,70 @@ public class CountDownAction extends AutomationAction {
 
     @Override
     public void execute(AutomationActionContext content) {
-        for (int i = 10; i > 0; i--) {
-            final int finalI = i;
-            content.gameEvent().getEntrant().stream()
-                    .map(Bukkit::getPlayer)
-                    .filter(Objects::nonNull)
-                    .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(),
-                            () -> p.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(String.valueOf(finalI)))));
-            try {
-                wait(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+        CountDownActionOptions options = getCountDownOptions();
+        int duration = options.duration();
+        CountDownActionOptions.Display display = options.getDisplay();
+        GameEvent gameEvent = content.gameEvent();
+
+        // Components are built once here, the tick task only sends them.
+        Component[] numbers = new Component[duration + 1];
+        for (int i = 0; i <= duration; i++)
+            numbers[i] = Component.text(i);
+        BossBar bossBar = display == CountDownActionOptions.Display.BOSS_BAR
+                ? BossBar.bossBar(numbers[duration], 1.0f, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS)
+                : null;
+
+        EventAssistCore plugin = EventAssistCore.getInstance();
+        Audience entrants = getEntrantAudience(gameEvent);
+        int[] remaining = {duration};
+        Bukkit.getServer().getScheduler().runTaskTimer(plugin, task -> {
+            int seconds = remaining[0]--;
+            if (seconds == duration) {
+                Countdown previous = RUNNING.put(gameEvent.getEventId(), new Countdown(task, entrants, bossBar));
+                if (previous != null)
+                    previous.cancel();
             }
+
+            if (seconds <= 0) {
+                RUNNING.computeIfPresent(gameEvent.getEventId(), (key, running) -> running.task() == task ? null : running);
+                new Countdown(task, entrants, bossBar).cancel();
+                return;
+            }
+
+            switch (display) {
+                case ACTION_BAR -> entrants.sendActionBar(numbers[seconds]);
+                case TITLE -> entrants.showTitle(Title.title(numbers[seconds], Component.empty(), TITLE_TIMES));
+                case BOSS_BAR -> {
+                    bossBar.name(numbers[seconds]).progress((float) seconds / duration);
+                    entrants.showBossBar(bossBar);
+                }
+            }
+        }, 0L, 20L);
+    }
+
+    /**
+     * The next action of the automation waits until the countdown has finished.
+     */
+    @JsonIgnore
+    @Override
+    public long getDurationTicks() {
+        return getCountDownOptions().duration() * 20L;
+    }
+
+    private CountDownActionOptions getCountDownOptions() {
+        return getOptions() instanceof CountDownActionOptions options ? options : CountDownActionOptions.DEFAULT;
+    }
+
+
+    /**
+     * A running countdown. The boss bar is kept with the task so that it is hidden however the task ends.
+     */
+    private record Countdown(BukkitTask task, Audience entrants, @Nullable BossBar bossBar) {
+
+        void cancel() {
+            task.cancel();
+            if (bossBar != null)
+                entrants.hideBossBar(bossBar);
         }
     }
 }
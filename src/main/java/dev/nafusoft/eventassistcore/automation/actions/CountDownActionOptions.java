@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation.actions;
+
+import dev.nafusoft.eventassistcore.automation.ActionOptions;
+import dev.nafusoft.eventassistcore.automation.OptionDescription;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * @param duration Number of seconds to count down from.
+ * @param display  Where the remaining seconds are shown. (ACTION_BAR, TITLE or BOSS_BAR)
+ */
+public record CountDownActionOptions(
+        @OptionDescription("Number of seconds to count down from.") int duration,
+        @OptionDescription("Can use: ACTION_BAR, TITLE, BOSS_BAR") String display
+) implements ActionOptions {
+    /**
+     * Used for countdowns saved before options were added, which always counted down from 10 on the action bar.
+     */
+    static final CountDownActionOptions DEFAULT = new CountDownActionOptions(10, Display.ACTION_BAR.name());
+
+    public CountDownActionOptions {
+        if (duration < 0)
+            throw new IllegalArgumentException("The duration of a countdown cannot be negative. (duration: " + duration + ")");
+        String name = display == null ? null : display.toUpperCase(Locale.ROOT);
+        if (Arrays.stream(Display.values()).noneMatch(value -> value.name().equals(name)))
+            throw new IllegalArgumentException("Unknown countdown display: " + display + " (Can use: " +
+                    Arrays.stream(Display.values()).map(Display::name).collect(Collectors.joining(", ")) + ")");
+        display = name;
+    }
+
+    public Display getDisplay() {
+        return Display.valueOf(display);
+    }
+
+
+    public enum Display {
+        ACTION_BAR, TITLE, BOSS_BAR
+    }
+}
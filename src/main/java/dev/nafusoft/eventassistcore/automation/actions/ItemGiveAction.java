@@ -17,12 +17,9 @@
 package dev.nafusoft.eventassistcore.automation.actions;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
-import org.bukkit.Bukkit;
-
-import java.util.Objects;
+import dev.nafusoft.eventassistcore.automation.PlayerFanOut;
 
 public class ItemGiveAction extends AutomationAction {
 
@@ -33,9 +30,6 @@ public class ItemGiveAction extends AutomationAction {
     @Override
     public void execute(AutomationActionContext context) {
         ItemGiveActionOptions options = (ItemGiveActionOptions) getOptions();
-        context.gameEvent().getEntrant().stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(), () -> p.getInventory().addItem(options.itemStack())));
+        PlayerFanOut.run(getClass().getSimpleName(), context.gameEvent().getEntrant(), p -> p.getInventory().addItem(options.itemStack()));
     }
 }
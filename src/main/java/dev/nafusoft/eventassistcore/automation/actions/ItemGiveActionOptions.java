@@ -28,14 +28,8 @@ import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
-import lombok.val;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
-import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
@@ -44,6 +38,16 @@ import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
 @JsonDeserialize(using = ItemGiveActionOptions.ItemGiveActionOptionsDeserializer.class)
 public record ItemGiveActionOptions(ItemStack itemStack) implements ActionOptions {
 
+    /**
+     * The decoded item is a template shared by every action that has the same item, so only copies of it are returned.
+     *
+     * @return Copy of the item to give
+     */
+    @Override
+    public ItemStack itemStack() {
+        return itemStack.clone();
+    }
+
     public static class ItemGiveActionOptionsSerializer extends StdSerializer<ItemGiveActionOptions> {
 
         protected ItemGiveActionOptionsSerializer() {
@@ -64,13 +68,7 @@ public record ItemGiveActionOptions(ItemStack itemStack) implements ActionOption
 
         @Override
         public void serialize(ItemGiveActionOptions value, JsonGenerator gen, SerializerProvider provider) throws IOException {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-            dataOutput.writeObject(value.itemStack());
-            dataOutput.close();
-            val encodedItem = Base64Coder.encodeLines(outputStream.toByteArray());
-
-            gen.writeStringField("itemStack", encodedItem);
+            gen.writeStringField("item", ItemStackCodec.encode(value.itemStack));
         }
     }
 
@@ -87,14 +85,12 @@ public record ItemGiveActionOptions(ItemStack itemStack) implements ActionOption
         @Override
         public ItemGiveActionOptions deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
             JsonNode node = p.getCodec().readTree(p);
-            String encodedItem = node.get("itemStack").asText();
-
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(Base64Coder.decodeLines(encodedItem));
-            try (BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream)) {
-                return new ItemGiveActionOptions((ItemStack) dataInput.readObject());
-            } catch (ClassNotFoundException e) {
-                throw new IOException("Unable to decode class type.", e);
-            }
+            if (node.hasNonNull("item"))
+                return new ItemGiveActionOptions(ItemStackCodec.decode(node.get("item").asText()));
+            if (node.hasNonNull("itemStack")) // Written by older versions.
+                return new ItemGiveActionOptions(ItemStackCodec.decodeLegacy(node.get("itemStack").asText()));
+
+            throw new IOException("The item is missing.");
         }
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.automation.actions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes item stacks as deflated Bukkit object streams in Base64 without line breaks.<br>
+ * Decoded items are kept as templates keyed by a hash of their encoded form, so each distinct item is decoded only once.
+ * Templates are shared, so callers must {@link ItemStack#clone() clone} them before handing them out.
+ */
+final class ItemStackCodec {
+    private static final Cache<HashCode, ItemStack> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    private ItemStackCodec() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    static @NotNull String encode(@NotNull ItemStack itemStack) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream)) {
+            dataOutput.writeObject(itemStack);
+        }
+        return pack(outputStream.toByteArray());
+    }
+
+    /**
+     * Returns the template of an item encoded by {@link #encode(ItemStack)}.
+     */
+    static @NotNull ItemStack decode(@NotNull String encodedItem) throws IOException {
+        return getTemplate(encodedItem, item -> read(unpack(item)));
+    }
+
+    /**
+     * Returns the template of an item encoded by older versions, which did not compress and wrapped the Base64 text.
+     */
+    static @NotNull ItemStack decodeLegacy(@NotNull String encodedItem) throws IOException {
+        return getTemplate(encodedItem, item -> read(Base64Coder.decodeLines(item)));
+    }
+
+    /**
+     * Deflates a serialized item and encodes it in Base64.
+     */
+    static @NotNull String pack(byte @NotNull [] serializedItem) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(outputStream)) {
+            deflater.write(serializedItem);
+        }
+        return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+    }
+
+    /**
+     * Reverses {@link #pack(byte[])}.
+     */
+    static byte @NotNull [] unpack(@NotNull String encodedItem) throws IOException {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encodedItem)))) {
+            return inflater.readAllBytes();
+        }
+    }
+
+    /**
+     * Returns the template of the encoded item, reading it with the reader only if it is not cached.
+     */
+    static @NotNull ItemStack getTemplate(@NotNull String encodedItem, @NotNull TemplateReader reader) throws IOException {
+        HashCode key = Hashing.sha256().hashString(encodedItem, StandardCharsets.UTF_8);
+        try {
+            return TEMPLATES.get(key, () -> reader.read(encodedItem));
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to decode item.", e.getCause());
+        }
+    }
+
+    private static ItemStack read(byte[] serializedItem) throws IOException {
+        try (BukkitObjectInputStream dataInput = new BukkitObjectInputStream(new ByteArrayInputStream(serializedItem))) {
+            return (ItemStack) dataInput.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unable to decode class type.", e);
+        }
+    }
+
+
+    @FunctionalInterface
+    interface TemplateReader {
+        @NotNull ItemStack read(@NotNull String encodedItem) throws IOException;
+    }
+}
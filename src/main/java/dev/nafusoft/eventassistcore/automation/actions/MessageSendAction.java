@@ -20,11 +20,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
-import org.bukkit.Bukkit;
-
-import java.util.Objects;
+import dev.nafusoft.eventassistcore.automation.PlayerFanOut;
+import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 public class MessageSendAction extends AutomationAction {
+    private Component message; // Built on the first run and reused after that.
 
     public MessageSendAction(@JsonProperty("options") ActionOptions options) {
         super(options);
@@ -32,10 +34,16 @@ public class MessageSendAction extends AutomationAction {
 
     @Override
     public void execute(AutomationActionContext context) {
-        MessageSendActionOptions options = (MessageSendActionOptions) getOptions();
-        context.gameEvent().getEntrant().stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(), () -> p.sendMessage(options.message())));
+        Component component = getMessage();
+        BukkitAudiences adventure = EventAssistCore.getInstance().getAdventure();
+        PlayerFanOut.run(getClass().getSimpleName(), context.gameEvent().getEntrant(), p -> adventure.player(p).sendMessage(component));
+    }
+
+    private synchronized Component getMessage() {
+        if (message == null) {
+            // Messages may contain legacy color codes, as they used to be sent with Player#sendMessage(String).
+            message = LegacyComponentSerializer.legacySection().deserialize(((MessageSendActionOptions) getOptions()).message());
+        }
+        return message;
     }
 }
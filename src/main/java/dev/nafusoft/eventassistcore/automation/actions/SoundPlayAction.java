@@ -17,16 +17,13 @@
 package dev.nafusoft.eventassistcore.automation.actions;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
+import dev.nafusoft.eventassistcore.automation.PlayerFanOut;
 import dev.nafusoft.eventassistcore.gameevent.GameEvent;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.Objects;
-
 public class SoundPlayAction extends AutomationAction {
 
     public SoundPlayAction(@JsonProperty("options") ActionOptions options) {
@@ -36,16 +33,13 @@ public class SoundPlayAction extends AutomationAction {
     @Override
     public void execute(AutomationActionContext context) { // 参加者全員に指定されたサウンドを再生する。
         SoundPlayActionOptions options = (SoundPlayActionOptions) getOptions();
-        context.gameEvent().getEntrant().stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(),
-                        () -> p.playSound(
-                                getLocationObject(p, context.gameEvent(), options.getLocation()),
-                                options.getSoundType(),
-                                options.getSoundCategory(),
-                                options.volume(),
-                                options.pitch())));
+        PlayerFanOut.run(getClass().getSimpleName(), context.gameEvent().getEntrant(),
+                p -> p.playSound(
+                        getLocationObject(p, context.gameEvent(), options.getLocation()),
+                        options.getSoundType(),
+                        options.getSoundCategory(),
+                        options.volume(),
+                        options.pitch()));
     }
 
     private Location getLocationObject(Player player, GameEvent event, String location) {
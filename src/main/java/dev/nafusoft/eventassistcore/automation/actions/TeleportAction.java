@@ -17,12 +17,10 @@
 package dev.nafusoft.eventassistcore.automation.actions;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
-import org.bukkit.Bukkit;
-
-import java.util.Objects;
+import dev.nafusoft.eventassistcore.automation.PlayerFanOut;
+import org.bukkit.Location;
 
 public class TeleportAction extends AutomationAction {
 
@@ -32,13 +30,10 @@ public class TeleportAction extends AutomationAction {
 
     @Override
     public void execute(AutomationActionContext content) {
-        if (content.gameEvent().getEventLocation() == null)
+        Location location = content.gameEvent().getEventLocation();
+        if (location == null)
             return;
 
-        content.gameEvent().getEntrant().stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(),
-                        () -> p.teleport(content.gameEvent().getEventLocation())));
+        PlayerFanOut.run(getClass().getSimpleName(), content.gameEvent().getEntrant(), p -> p.teleport(location));
     }
 }
@@ -20,15 +20,15 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.automation.ActionOptions;
 import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
+import dev.nafusoft.eventassistcore.automation.PlayerFanOut;
+import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
-import org.bukkit.Bukkit;
-
-import java.util.Objects;
 
 public class TitleShowAction extends AutomationAction {
+    private Title title; // Built on the first run and reused after that.
 
     public TitleShowAction(@JsonProperty("options") ActionOptions options) {
         super(options);
@@ -36,15 +36,20 @@ public class TitleShowAction extends AutomationAction {
 
     @Override
     public void execute(AutomationActionContext context) {
-        TitleShowActionOptions options = (TitleShowActionOptions) getOptions();
-        TextComponent titleComponent =
-                Component.text(options.title()).color(NamedTextColor.NAMES.value(options.titleColorName()));
-        TextComponent subTitleComponent =
-                Component.text(options.subTitle()).color(NamedTextColor.NAMES.value(options.subTitleColorName()));
-        context.gameEvent().getEntrant().stream()
-                .map(Bukkit::getPlayer)
-                .filter(Objects::nonNull)
-                .forEach(p -> Bukkit.getServer().getScheduler().runTask(EventAssistCore.getInstance(),
-                        () -> EventAssistCore.getInstance().getAdventure().player(p).showTitle(Title.title(titleComponent, subTitleComponent, Title.DEFAULT_TIMES))));
+        Title showTitle = getTitle();
+        BukkitAudiences adventure = EventAssistCore.getInstance().getAdventure();
+        PlayerFanOut.run(getClass().getSimpleName(), context.gameEvent().getEntrant(), p -> adventure.player(p).showTitle(showTitle));
+    }
+
+    private synchronized Title getTitle() {
+        if (title == null) {
+            TitleShowActionOptions options = (TitleShowActionOptions) getOptions();
+            TextComponent titleComponent =
+                    Component.text(options.title()).color(NamedTextColor.NAMES.value(options.titleColorName()));
+            TextComponent subTitleComponent =
+                    Component.text(options.subTitle()).color(NamedTextColor.NAMES.value(options.subTitleColorName()));
+            title = Title.title(titleComponent, subTitleComponent, Title.DEFAULT_TIMES);
+        }
+        return title;
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev.nafusoft.eventassistcore.automation.EventAutomation;
+import dev.nafusoft.eventassistcore.automation.actions.AutomationAction;
+import dev.nafusoft.eventassistcore.gameevent.EventOptions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the single JSON mapper of the plugin and the readers and writers built from it.<br>
+ * Readers and writers are immutable and thread-safe, and resolve their (de)serializers once, so they are shared rather than created per call.
+ * The mapper uses Blackbird, which replaces reflective property access with generated accessors.
+ */
+public final class Codecs {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .registerModule(new BlackbirdModule());
+
+    /**
+     * Writes any value with its runtime type.
+     */
+    public static final ObjectWriter WRITER = MAPPER.writer();
+
+    /**
+     * Reads the map produced by {@link org.bukkit.Location#serialize()}.
+     */
+    public static final ObjectReader LOCATION_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+
+    public static final ObjectReader EVENT_OPTIONS_READER = MAPPER.readerFor(EventOptions.class);
+    public static final ObjectWriter EVENT_OPTIONS_WRITER = MAPPER.writerFor(EventOptions.class);
+
+    public static final ObjectReader ACTION_READER = MAPPER.readerFor(AutomationAction.class);
+    public static final ObjectWriter AUTOMATION_WRITER = MAPPER.writerFor(EventAutomation.class);
+
+    /**
+     * Reads the entrant column written by older versions.
+     */
+    public static final ObjectReader UUID_LIST_READER = MAPPER.readerFor(new TypeReference<List<String>>() {
+    });
+
+    private Codecs() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Creates a streaming parser bound to the shared mapper.
+     *
+     * @param json JSON to parse
+     * @return {@link JsonParser JsonParser}
+     * @throws IOException Thrown when the parser cannot be created.
+     */
+    public static @NotNull JsonParser createParser(@NotNull String json) throws IOException {
+        return MAPPER.createParser(json);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Level;
+
+/**
+ * Runs a data backfill in chunks, committing after each chunk.<br>
+ * Locks are only held for one chunk at a time, so large tables stay usable while they are migrated.
+ * Backfills run with {@link #run} resume from the first chunk that has not been committed when they are interrupted,
+ * and backfills run with {@link #runByKey} are run again from the start.
+ */
+public final class BatchedBackfill {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private BatchedBackfill() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Runs the chunk until it processes fewer rows than the chunk size.
+     * Each chunk must only select rows that have not been processed yet, for example by clearing or converting them.
+     *
+     * @param connection Connection to use
+     * @param name       Name of the backfill shown in logs
+     * @param chunkSize  Maximum number of rows in one chunk
+     * @param chunk      Processes up to the given number of rows and returns how many it processed
+     * @return Number of rows processed
+     * @throws SQLException Thrown when a chunk fails. The failed chunk is rolled back, chunks before it stay committed.
+     */
+    public static long run(@NotNull Connection connection, @NotNull String name, int chunkSize, @NotNull Chunk chunk) throws SQLException {
+        long total = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            int processed;
+            do {
+                try {
+                    processed = chunk.apply(connection, chunkSize);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                total += processed;
+                if (processed > 0)
+                    PluginLogger.log(Level.INFO, "{0}: {1} rows processed.", new Object[]{name, total});
+            } while (processed >= chunkSize);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return total;
+    }
+
+    /**
+     * Runs the chunk over all rows of the table, one range of the key column at a time in order of the key.<br>
+     * Each range is found through the index of the key, so a chunk neither rescans the rows before it
+     * nor has to change which rows are selected, unlike chunks run with {@link #run}.
+     *
+     * @param connection Connection to use
+     * @param name       Name of the backfill shown in logs
+     * @param tableName  Table to process
+     * @param keyColumn  Unique, NOT NULL and indexed column of the table
+     * @param chunkSize  Maximum number of rows in one range
+     * @param chunk      Processes the rows of the given range
+     * @return Number of rows in the processed ranges
+     * @throws SQLException Thrown when a chunk fails. The failed chunk is rolled back, chunks before it stay committed.
+     */
+    public static long runByKey(@NotNull Connection connection, @NotNull String name, @NotNull String tableName,
+                                @NotNull String keyColumn, int chunkSize, @NotNull RangeChunk chunk) throws SQLException {
+        Object[] lastKey = {null};
+        return run(connection, name, chunkSize, (chunkConnection, limit) -> {
+            Object from = lastKey[0];
+            Object to = null;
+            int rows = 0;
+            try (PreparedStatement ps = chunkConnection.prepareStatement(
+                    "SELECT " + keyColumn + " FROM " + tableName + (from == null ? "" : " WHERE " + keyColumn + " > ?") +
+                            " ORDER BY " + keyColumn + " LIMIT " + limit
+            )) {
+                if (from != null)
+                    ps.setObject(1, from);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    while (resultSet.next()) {
+                        to = resultSet.getObject(1);
+                        rows++;
+                    }
+                }
+            }
+
+            if (rows > 0) {
+                chunk.apply(chunkConnection, new KeyRange(keyColumn, from, to));
+                lastKey[0] = to;
+            }
+            return rows;
+        });
+    }
+
+
+    @FunctionalInterface
+    public interface Chunk {
+        int apply(@NotNull Connection connection, int limit) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RangeChunk {
+        void apply(@NotNull Connection connection, @NotNull KeyRange range) throws SQLException;
+    }
+
+    /**
+     * Range of keys processed by one chunk of {@link #runByKey}.
+     *
+     * @param keyColumn Key column of the table
+     * @param from      Exclusive lower bound, or null for the first range
+     * @param to        Inclusive upper bound
+     */
+    public record KeyRange(@NotNull String keyColumn, @Nullable Object from, @NotNull Object to) {
+
+        /**
+         * @return SQL condition that selects the rows of the range. Its parameters are set with {@link #bind}.
+         */
+        public @NotNull String condition() {
+            return (from == null ? "" : keyColumn + " > ? AND ") + keyColumn + " <= ?";
+        }
+
+        /**
+         * Sets the parameters of {@link #condition()}.
+         *
+         * @param ps    Statement containing the condition
+         * @param index Index of the first parameter of the condition
+         * @return Index of the parameter after the condition
+         */
+        public int bind(@NotNull PreparedStatement ps, int index) throws SQLException {
+            if (from != null)
+                ps.setObject(index++, from);
+            ps.setObject(index++, to);
+            return index;
+        }
+    }
+}
@@ -25,21 +25,60 @@ import java.sql.SQLException;
 
 public class DatabaseConnector {
     private final HikariDataSource dataSource;
+    private final DatabaseExecutor executor;
+    private final SchemaMigrator migrator;
+    private final UuidLayout uuidLayout;
 
-    public DatabaseConnector(EventAssistConfig.DatabaseType databaseType, String address, String database, String username, String password) {
+    public DatabaseConnector(EventAssistConfig.DatabaseType databaseType, String address, String database, String username, String password,
+                             int executorThreads, int executorQueueSize, String tablePrefix, boolean migrationDryRun,
+                             UuidLayout uuidLayout) {
         HikariConfig hconfig = new HikariConfig();
         hconfig.setDriverClassName(databaseType.getJdbcClass());
         hconfig.setJdbcUrl(databaseType.getAddressPrefix() + address + "/" + database);
         hconfig.addDataSourceProperty("user", username);
         hconfig.addDataSourceProperty("password", password);
+        // MySQL Connector/J ignores the fetch size unless cursor fetch is enabled, and would read whole result sets into memory.
+        if (databaseType == EventAssistConfig.DatabaseType.MYSQL)
+            hconfig.addDataSourceProperty("useCursorFetch", "true");
         dataSource = new HikariDataSource(hconfig);
+        executor = new DatabaseExecutor(executorThreads, executorQueueSize);
+        migrator = new SchemaMigrator(tablePrefix, this, migrationDryRun);
+        this.uuidLayout = uuidLayout;
     }
 
     public Connection getConnection() throws SQLException {
         return dataSource.getConnection();
     }
 
+    /**
+     * Returns the executor that runs database work off the main thread.
+     *
+     * @return {@link DatabaseExecutor DatabaseExecutor}
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the migrator that applies schema changes of the tables.
+     *
+     * @return {@link SchemaMigrator SchemaMigrator}
+     */
+    public SchemaMigrator getMigrator() {
+        return migrator;
+    }
+
+    /**
+     * Returns how UUID columns are stored.
+     *
+     * @return {@link UuidLayout UuidLayout}
+     */
+    public UuidLayout getUuidLayout() {
+        return uuidLayout;
+    }
+
     public void close() {
+        executor.shutdown();
         dataSource.close();
     }
 }
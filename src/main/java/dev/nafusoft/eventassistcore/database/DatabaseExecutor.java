@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated, bounded executor that runs database work off the main thread.<br>
+ * <br>
+ * Threading contract: futures returned by {@link #supply(SqlSupplier)} are completed on a database thread.
+ * Dependent stages attached with non-async methods (such as {@code thenAccept}) therefore also run on a database thread,
+ * or on the calling thread if the future has already completed. They must not use the Bukkit API;
+ * use {@code thenAcceptAsync(callback, EventAssistCore.getInstance().getMainThreadExecutor())} to return to the main thread.<br>
+ * When the queue is full, the task is not run and the future completes exceptionally with a {@link RejectedExecutionException}.
+ */
+public final class DatabaseExecutor implements Executor {
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public DatabaseExecutor(int threads, int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "EventAssist-Database-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the task on a database thread.
+     *
+     * @param task Task to run
+     * @param <T>  Type of the result
+     * @return Future completed with the result of the task, or exceptionally with the exception thrown by the task.
+     */
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull SqlSupplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        try {
+            executor.execute(command);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of tasks waiting in the queue.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return Number of tasks that can still be queued before tasks are rejected.
+     */
+    public int getRemainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    /**
+     * @return Number of threads currently running a task.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return Number of tasks completed so far.
+     */
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * @return Number of tasks rejected because the queue was full.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Stops accepting tasks and waits for the queued tasks to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+                executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    @FunctionalInterface
+    public interface SqlSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -18,7 +18,11 @@ package dev.nafusoft.eventassistcore.database;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class DatabaseTable {
     private final String tablename;
@@ -37,14 +41,66 @@ public abstract class DatabaseTable {
         return connector;
     }
 
+    /**
+     * Runs the task on the database executor.
+     * See {@link DatabaseExecutor} for the thread on which the returned future is completed.
+     *
+     * @param task Task to run
+     * @param <T>  Type of the result
+     * @return Future completed with the result of the task
+     */
+    protected <T> CompletableFuture<T> supplyAsync(DatabaseExecutor.SqlSupplier<T> task) {
+        return connector.getExecutor().supply(task);
+    }
+
+    /**
+     * @return Column definition of UUID columns in the configured layout
+     */
+    protected String uuidType() {
+        return connector.getUuidLayout().getColumnType();
+    }
+
+    protected void setUuid(PreparedStatement ps, int index, UUID uuid) throws SQLException {
+        connector.getUuidLayout().set(ps, index, uuid);
+    }
+
+    protected UUID getUuid(ResultSet resultSet, String column) throws SQLException {
+        return connector.getUuidLayout().get(resultSet, column);
+    }
+
+    /**
+     * Returns the migrations of this table, which are applied by {@link #migrate()}.
+     * Tables whose schema has never changed return an empty list.
+     *
+     * @return Migrations of this table
+     */
+    protected List<Migration> getMigrations() {
+        return List.of();
+    }
+
+    /**
+     * Applies the migrations of this table that have not been applied yet.
+     *
+     * @throws SQLException Thrown when a migration fails.
+     */
+    protected void migrate() throws SQLException {
+        connector.getMigrator().migrate(this);
+    }
+
     /**
      * Creates a table with the specified structure.
      * If a table with the same name already exists, it exits without executing the process.
+     * In migration dry-run mode, the table is only added to the report of the migrator if it does not exist.
      *
      * @param construction Structure of the table to be created
      * @throws SQLException Thrown when creating a table fails.
      */
     public void createTable(String construction) throws SQLException {
+        if (connector.getMigrator().isDryRun()) {
+            connector.getMigrator().reportMissingTable(this);
+            return;
+        }
+
         try (Connection connection = connector.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement(
                     "CREATE TABLE IF NOT EXISTS " + tablename + " (" + construction + ")")) {
@@ -52,4 +108,46 @@ public abstract class DatabaseTable {
             }
         }
     }
+
+    /**
+     * @return true if the table exists in the database.
+     * @throws SQLException Thrown when reading the database fails.
+     */
+    protected boolean exists() throws SQLException {
+        try (Connection connection = connector.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ? LIMIT 1")) {
+            ps.setString(1, tablename);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Creates an index on the table.
+     * If an index with the same name already exists, it exits without executing the process,
+     * so this can be used to add indexes to tables created by older versions.
+     *
+     * @param indexName Name of the index
+     * @param columns   Comma separated columns of the index
+     * @throws SQLException Thrown when creating an index fails.
+     */
+    public void createIndex(String indexName, String columns) throws SQLException {
+        try (Connection connection = connector.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1")) {
+                ps.setString(1, tablename);
+                ps.setString(2, indexName);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    if (resultSet.next())
+                        return;
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "CREATE INDEX " + indexName + " ON " + tablename + " (" + columns + ")")) {
+                ps.execute();
+            }
+        }
+    }
 }
@@ -17,26 +17,33 @@
 package dev.nafusoft.eventassistcore.database;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.nafusoft.eventassistcore.automation.EventAutomation;
+import dev.nafusoft.eventassistcore.codec.Codecs;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
+import java.util.List;
 import java.util.UUID;
 
 public class EventAutomationTable extends DatabaseTable {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
     public EventAutomationTable(String prefix, String tablename, DatabaseConnector connector) {
         super(prefix, tablename, connector);
     }
 
     public void createTable() throws SQLException {
-        super.createTable("id VARCHAR(36) PRIMARY KEY, start_automation JSON, end_automation JSON");
+        super.createTable("id " + uuidType() + " PRIMARY KEY, start_automation JSON, end_automation JSON");
+        migrate();
+    }
+
+    @Override
+    protected List<Migration> getMigrations() {
+        return List.of(
+                UuidLayoutMigration.of(1, this, List.of("id"), "id", "id", connection -> {
+                })
+        );
     }
 
     protected String[] getById(@NotNull UUID eventId) throws SQLException {
@@ -46,7 +53,7 @@ public class EventAutomationTable extends DatabaseTable {
              val ps = connection.prepareStatement(
                      "SELECT * FROM " + getTableName() + " WHERE id = ?"
              )) {
-            ps.setString(1, eventId.toString());
+            setUuid(ps, 1, eventId);
 
             try (ResultSet resultSet = ps.executeQuery()) {
                 while (resultSet.next()) {
@@ -59,30 +66,19 @@ public class EventAutomationTable extends DatabaseTable {
         }
     }
 
-    protected void add(@NotNull UUID eventId) throws SQLException {
-        try (val connection = getConnector().getConnection();
-             val ps = connection.prepareStatement(
-                     "INSERT IGNORE INTO " + getTableName() + " (id, start_automation, end_automation) VALUES (?, ?, ?)"
-             )) {
-            ps.setString(1, eventId.toString());
-            ps.setNull(2, Types.LONGVARCHAR);
-            ps.setNull(3, Types.LONGVARCHAR);
-            ps.execute();
-        }
-    }
-
     protected void updateStartAutomation(@NotNull UUID eventId, @Nullable EventAutomation startAutomation) throws SQLException, JsonProcessingException {
         String startAutomationJson = null;
 
         if (startAutomation != null)
-            startAutomationJson = MAPPER.writeValueAsString(startAutomation);
+            startAutomationJson = Codecs.AUTOMATION_WRITER.writeValueAsString(startAutomation);
 
         try (val connection = getConnector().getConnection();
              val ps = connection.prepareStatement(
-                     "UPDATE " + getTableName() + " SET start_automation = ? WHERE id = ?"
+                     "INSERT INTO " + getTableName() + " (id, start_automation) VALUES (?, ?) " +
+                             "ON DUPLICATE KEY UPDATE start_automation = VALUES(start_automation)"
              )) {
-            ps.setString(1, startAutomationJson);
-            ps.setString(2, eventId.toString());
+            setUuid(ps, 1, eventId);
+            ps.setString(2, startAutomationJson);
             ps.execute();
         }
     }
@@ -91,14 +87,15 @@ public class EventAutomationTable extends DatabaseTable {
         String endAutomationJson = null;
 
         if (endAutomation != null)
-            endAutomationJson = MAPPER.writeValueAsString(endAutomation);
+            endAutomationJson = Codecs.AUTOMATION_WRITER.writeValueAsString(endAutomation);
 
         try (val connection = getConnector().getConnection();
              val ps = connection.prepareStatement(
-                     "UPDATE " + getTableName() + " SET end_automation = ? WHERE id = ?"
+                     "INSERT INTO " + getTableName() + " (id, end_automation) VALUES (?, ?) " +
+                             "ON DUPLICATE KEY UPDATE end_automation = VALUES(end_automation)"
              )) {
-            ps.setString(1, endAutomationJson);
-            ps.setString(2, eventId.toString());
+            setUuid(ps, 1, eventId);
+            ps.setString(2, endAutomationJson);
             ps.execute();
         }
     }
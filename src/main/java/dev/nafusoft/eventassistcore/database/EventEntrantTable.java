@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.database;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Holds one row per entrant of an event.
+ * Entries are appended and removed row by row, so the cost of a write does not depend on the size of the event.
+ */
+public class EventEntrantTable extends DatabaseTable {
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    public EventEntrantTable(@Nullable String prefix, @NotNull DatabaseConnector connector) {
+        super(prefix, "event_entrants", connector);
+    }
+
+    public void createTable() throws SQLException {
+        super.createTable("entry_id BIGINT NOT NULL AUTO_INCREMENT UNIQUE, " +
+                "event_id " + uuidType() + " NOT NULL, player_id " + uuidType() + " NOT NULL, " +
+                "PRIMARY KEY (event_id, player_id), INDEX idx_player_id (player_id)");
+        migrate();
+    }
+
+    @Override
+    protected List<Migration> getMigrations() {
+        return List.of(
+                UuidLayoutMigration.of(1, this, List.of("event_id", "player_id"), "entry_id", "event_id, player_id",
+                        connection -> createIndex("idx_player_id", "player_id"))
+        );
+    }
+
+    protected List<UUID> getByEvent(@NotNull UUID eventId) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT player_id FROM " + getTableName() + " WHERE event_id = ? ORDER BY entry_id"
+             )) {
+            setUuid(ps, 1, eventId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                val entrant = new ArrayList<UUID>();
+                while (resultSet.next())
+                    entrant.add(getUuid(resultSet, "player_id"));
+                return entrant;
+            }
+        }
+    }
+
+    protected Map<UUID, List<UUID>> getByEvents(@NotNull Collection<UUID> eventIds) throws SQLException {
+        val entrants = new HashMap<UUID, List<UUID>>();
+        if (eventIds.isEmpty())
+            return entrants;
+
+        val ids = List.copyOf(eventIds);
+        try (val connection = getConnector().getConnection()) {
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                val chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+                val placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                try (val ps = connection.prepareStatement(
+                        "SELECT event_id, player_id FROM " + getTableName() +
+                                " WHERE event_id IN (" + placeholders + ") ORDER BY entry_id"
+                )) {
+                    for (int i = 0; i < chunk.size(); i++)
+                        setUuid(ps, i + 1, chunk.get(i));
+                    try (ResultSet resultSet = ps.executeQuery()) {
+                        while (resultSet.next())
+                            entrants.computeIfAbsent(getUuid(resultSet, "event_id"), key -> new ArrayList<>())
+                                    .add(getUuid(resultSet, "player_id"));
+                    }
+                }
+            }
+        }
+        return entrants;
+    }
+
+    protected List<UUID> getByPlayer(@NotNull UUID playerId) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT event_id FROM " + getTableName() + " WHERE player_id = ? ORDER BY entry_id"
+             )) {
+            setUuid(ps, 1, playerId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                val eventIds = new ArrayList<UUID>();
+                while (resultSet.next())
+                    eventIds.add(getUuid(resultSet, "event_id"));
+                return eventIds;
+            }
+        }
+    }
+
+    protected void add(@NotNull UUID eventId, @NotNull UUID playerId) throws SQLException {
+        try (Connection connection = getConnector().getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "INSERT IGNORE INTO " + getTableName() + " (event_id, player_id) VALUES (?, ?)"
+             )) {
+            setUuid(ps, 1, eventId);
+            setUuid(ps, 2, playerId);
+            ps.execute();
+        }
+    }
+
+    protected void addAll(@NotNull UUID eventId, @NotNull Collection<UUID> playerIds) throws SQLException {
+        if (playerIds.isEmpty())
+            return;
+
+        try (Connection connection = getConnector().getConnection()) {
+            addAll(connection, eventId, playerIds);
+        }
+    }
+
+    protected void addAll(@NotNull Connection connection, @NotNull UUID eventId, @NotNull Collection<UUID> playerIds) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT IGNORE INTO " + getTableName() + " (event_id, player_id) VALUES (?, ?)"
+        )) {
+            for (UUID playerId : playerIds) {
+                setUuid(ps, 1, eventId);
+                setUuid(ps, 2, playerId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the entrants of several events in a single transaction.
+     * Either all rows are inserted or, if an exception is thrown, none of them.
+     *
+     * @param entrants Entrants to insert
+     * @throws SQLException Thrown when the transaction fails. The transaction is rolled back.
+     */
+    protected void addBatch(@NotNull List<Entrant> entrants) throws SQLException {
+        if (entrants.isEmpty())
+            return;
+
+        try (Connection connection = getConnector().getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "INSERT IGNORE INTO " + getTableName() + " (event_id, player_id) VALUES (?, ?)"
+             )) {
+            connection.setAutoCommit(false);
+            try {
+                for (Entrant entrant : entrants) {
+                    setUuid(ps, 1, entrant.eventId());
+                    setUuid(ps, 2, entrant.playerId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    protected void deleteByEvent(@NotNull UUID eventId) throws SQLException {
+        try (Connection connection = getConnector().getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "DELETE FROM " + getTableName() + " WHERE event_id = ?"
+             )) {
+            setUuid(ps, 1, eventId);
+            ps.execute();
+        }
+    }
+
+
+    public record Entrant(@NotNull UUID eventId, @NotNull UUID playerId) {
+    }
+}
@@ -17,13 +17,12 @@
 package dev.nafusoft.eventassistcore.database;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import dev.nafusoft.eventassistcore.gameevent.DefaultGameEvent;
+import dev.nafusoft.eventassistcore.codec.Codecs;
 import dev.nafusoft.eventassistcore.gameevent.EventOptions;
 import dev.nafusoft.eventassistcore.gameevent.GameEvent;
 import dev.nafusoft.eventassistcore.gameevent.GameEventStatus;
+import dev.nafusoft.eventassistcore.gameevent.GameEventSummary;
+import dev.nafusoft.eventassistcore.gameevent.HistoryPage;
 import dev.nafusoft.eventassistcore.utils.PluginLogger;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -31,24 +30,81 @@ import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class GameEventTable extends DatabaseTable {
-    private static final ObjectMapper MAPPER = new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    private static final String SUMMARY_COLUMNS = "id, event_name, description, owner_id, event_status, start_date, end_date";
+    private static final int HISTORY_FETCH_SIZE = 256;
+
+    private final EventEntrantTable entrantTable;
 
     protected GameEventTable(@Nullable String prefix, @NotNull DatabaseConnector connector) {
         super(prefix, "events", connector);
+        entrantTable = new EventEntrantTable(prefix, connector);
     }
 
     protected void createTable() throws SQLException {
-        super.createTable("id VARCHAR(36) PRIMARY KEY, event_name VARCHAR(32) NOT NULL, description VARCHAR(120), " +
-                "owner_id VARCHAR(36) NOT NULL, event_status VARCHAR(16) NOT NULL, start_date DATETIME, " +
+        // The entrant column is no longer written. It is only kept so that existing data can be migrated.
+        super.createTable("id " + uuidType() + " PRIMARY KEY, event_name VARCHAR(32) NOT NULL, description VARCHAR(120), " +
+                "owner_id " + uuidType() + " NOT NULL, event_status VARCHAR(16) NOT NULL, start_date DATETIME, " +
                 "end_date DATETIME DEFAULT 0, location JSON, entrant JSON, event_options JSON");
+        entrantTable.createTable();
+        migrate();
+    }
+
+    @Override
+    protected List<Migration> getMigrations() {
+        return List.of(
+                // Status lookups, owner lookups and history scans would otherwise read the whole table.
+                Migration.of(1, "Add indexes on event_status, owner_id and end_date", connection -> {
+                    createIndex("idx_status_start_date", "event_status, start_date");
+                    createIndex("idx_owner_id", "owner_id");
+                    createIndex("idx_end_date", "end_date");
+                }),
+                Migration.of(2, "Move entrants from the entrant column to the entrant table", connection ->
+                        BatchedBackfill.runByKey(connection, "Entrant migration", getTableName(), "id",
+                                BatchedBackfill.DEFAULT_CHUNK_SIZE, this::migrateEntrantChunk)),
+                UuidLayoutMigration.of(3, this, List.of("id", "owner_id"), "id", "id",
+                        connection -> createIndex("idx_owner_id", "owner_id"))
+        );
+    }
+
+    /**
+     * Moves entrants of the events in the range from the legacy JSON column into the entrant table.
+     * The column of each moved event is cleared, so moved events are skipped if the migration is run again.
+     * This runs before the UUID columns are converted, so the ids are read as text.
+     */
+    private void migrateEntrantChunk(Connection connection, BatchedBackfill.KeyRange range) throws SQLException {
+        try (val select = connection.prepareStatement(
+                "SELECT id, entrant FROM " + getTableName() + " WHERE " + range.condition() + " AND entrant IS NOT NULL"
+        );
+             val clear = connection.prepareStatement(
+                     "UPDATE " + getTableName() + " SET entrant = NULL WHERE id = ?"
+             )) {
+            range.bind(select, 1);
+            val legacy = new LinkedHashMap<UUID, String>();
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next())
+                    legacy.put(UUID.fromString(resultSet.getString("id")), resultSet.getString("entrant"));
+            }
+
+            for (Map.Entry<UUID, String> entry : legacy.entrySet()) {
+                if (!StringUtils.isEmpty(entry.getValue())) {
+                    List<String> entrantIds = Codecs.UUID_LIST_READER.readValue(entry.getValue());
+                    val entrant = entrantIds.stream().map(UUID::fromString).toList();
+                    entrantTable.addAll(connection, entry.getKey(), entrant);
+                }
+                clear.setString(1, entry.getKey().toString());
+                clear.addBatch();
+            }
+            clear.executeBatch();
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Failed to migrate the entrant column.", e);
+        }
     }
 
     protected List<GameEvent> fetchEvents(final int limit) throws SQLException {
@@ -57,14 +113,8 @@ public class GameEventTable extends DatabaseTable {
                      "SELECT * FROM " + getTableName() + " LIMIT " + limit
              )) {
             try (ResultSet resultSet = ps.executeQuery()) {
-                val events = new ArrayList<GameEvent>();
-                while (resultSet.next())
-                    events.add(parseResult(resultSet));
-                return events;
+                return readEvents(resultSet);
             }
-        } catch (JsonProcessingException e) {
-            PluginLogger.log(Level.WARNING, "An error occurred during Json processing.", e);
-            return new ArrayList<>();
         }
     }
 
@@ -73,16 +123,121 @@ public class GameEventTable extends DatabaseTable {
              val ps = connection.prepareStatement(
                      "SELECT * FROM " + getTableName() + " WHERE id = ?"
              )) {
-            ps.setString(1, eventId.toString());
+            setUuid(ps, 1, eventId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                EventRow row = null;
+                while (resultSet.next())
+                    row = parseResult(resultSet);
+                return row == null ? null : row.toEvent(entrantTable.getByEvent(eventId));
+            }
+        }
+    }
+
+    /**
+     * Reads event summaries ordered by start date, without reading the JSON columns.
+     *
+     * @param eventStatus Status to filter by, if null is specified, all events are read.
+     * @param limit       Maximum number of summaries to read
+     * @param offset      Number of summaries to skip
+     * @return List of {@link GameEventSummary GameEventSummary}
+     */
+    protected List<GameEventSummary> fetchSummaries(@Nullable GameEventStatus eventStatus, int limit, int offset) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT " + SUMMARY_COLUMNS + " FROM " + getTableName() +
+                             (eventStatus != null ? " WHERE event_status = ?" : "") +
+                             " ORDER BY start_date, id LIMIT ? OFFSET ?"
+             )) {
+            int index = 1;
+            if (eventStatus != null)
+                ps.setString(index++, eventStatus.name());
+            ps.setInt(index++, limit);
+            ps.setInt(index, offset);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                val summaries = new ArrayList<GameEventSummary>();
+                while (resultSet.next())
+                    summaries.add(parseSummary(resultSet));
+                return summaries;
+            }
+        }
+    }
+
+    /**
+     * Reads one page of ended events, newest first.
+     * Pages are keyed on (end_date, id), so the cost of a page does not grow with its position in the history.
+     *
+     * @param after Key of the last event on the previous page, if null is specified, the first page is read.
+     * @param limit Maximum number of summaries to read
+     * @return {@link HistoryPage HistoryPage}
+     */
+    protected HistoryPage fetchHistory(@Nullable HistoryPage.Key after, int limit) throws SQLException {
+        if (limit <= 0)
+            return new HistoryPage(List.of(), after);
+
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT " + SUMMARY_COLUMNS + " FROM " + getTableName() + " WHERE event_status = ?" +
+                             (after != null ? " AND (end_date < ? OR (end_date = ? AND id < ?))" : "") +
+                             " ORDER BY end_date DESC, id DESC LIMIT ?"
+             )) {
+            int index = 1;
+            ps.setString(index++, GameEventStatus.ENDED.name());
+            if (after != null) {
+                val endDate = new Timestamp(after.eventEndTime());
+                ps.setTimestamp(index++, endDate);
+                ps.setTimestamp(index++, endDate);
+                setUuid(ps, index++, after.eventId());
+            }
+            // Read one more row than requested to know whether there is a next page.
+            ps.setInt(index, limit + 1);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                val summaries = new ArrayList<GameEventSummary>();
+                while (resultSet.next())
+                    summaries.add(parseSummary(resultSet));
+
+                if (summaries.size() <= limit)
+                    return new HistoryPage(summaries, null);
+                summaries.remove(limit);
+                return new HistoryPage(summaries, HistoryPage.Key.of(summaries.get(limit - 1)));
+            }
+        }
+    }
+
+    /**
+     * Reads all ended events, newest first, and passes them to the consumer one by one.
+     * Rows are fetched from the server {@value HISTORY_FETCH_SIZE} at a time, so memory use does not depend on the size of the history.
+     * The connection is held until the consumer has received every row.
+     *
+     * @param consumer Receives each summary
+     */
+    protected void scanHistory(@NotNull Consumer<GameEventSummary> consumer) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT " + SUMMARY_COLUMNS + " FROM " + getTableName() + " WHERE event_status = ?" +
+                             " ORDER BY end_date DESC, id DESC",
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+             )) {
+            ps.setFetchSize(HISTORY_FETCH_SIZE);
+            ps.setString(1, GameEventStatus.ENDED.name());
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next())
+                    consumer.accept(parseSummary(resultSet));
+            }
+        }
+    }
+
+    protected GameEventSummary getSummaryById(@NotNull UUID eventId) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT " + SUMMARY_COLUMNS + " FROM " + getTableName() + " WHERE id = ?"
+             )) {
+            setUuid(ps, 1, eventId);
             try (ResultSet resultSet = ps.executeQuery()) {
-                GameEvent result = null;
+                GameEventSummary result = null;
                 while (resultSet.next())
-                    result = parseResult(resultSet);
+                    result = parseSummary(resultSet);
                 return result;
             }
-        } catch (JsonProcessingException e) {
-            PluginLogger.log(Level.WARNING, "An error occurred during Json processing.", e);
-            return null;
         }
     }
 
@@ -93,14 +248,8 @@ public class GameEventTable extends DatabaseTable {
              )) {
             ps.setString(1, eventStatus.name());
             try (ResultSet resultSet = ps.executeQuery()) {
-                val events = new ArrayList<GameEvent>();
-                while (resultSet.next())
-                    events.add(parseResult(resultSet));
-                return events;
+                return readEvents(resultSet);
             }
-        } catch (JsonProcessingException e) {
-            PluginLogger.log(Level.WARNING, "An error occurred during Json processing.", e);
-            return new ArrayList<>();
         }
     }
 
@@ -114,35 +263,34 @@ public class GameEventTable extends DatabaseTable {
         val eventEndTime = gameEvent.getEventEndTime();
 
         String locationJson = null;
-        String entrantJson = null;
         String eventOptionsJson = null;
 
         if (gameEvent.getEventLocation() != null)
-            locationJson = MAPPER.writeValueAsString(gameEvent.getEventLocation().serialize());
-        if (gameEvent.getEntrant() != null)
-            entrantJson = MAPPER.writeValueAsString(gameEvent.getEntrant());
+            locationJson = Codecs.WRITER.writeValueAsString(gameEvent.getEventLocation().serialize());
         if (gameEvent.getEventOptions() != null)
-            eventOptionsJson = MAPPER.writeValueAsString(gameEvent.getEventOptions());
+            eventOptionsJson = Codecs.EVENT_OPTIONS_WRITER.writeValueAsString(gameEvent.getEventOptions());
 
         try (val connection = getConnector().getConnection();
              val ps = connection.prepareStatement(
                      "INSERT INTO " + getTableName() +
-                             " (id, event_name, description, owner_id, event_status, start_date, end_date, location, entrant, event_options) " +
-                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                             " (id, event_name, description, owner_id, event_status, start_date, end_date, location, event_options) " +
+                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"
              )) {
-            ps.setString(1, eventId.toString());
+            setUuid(ps, 1, eventId);
             ps.setString(2, eventName);
             ps.setString(3, eventDescription);
-            ps.setString(4, eventOwner.toString());
+            setUuid(ps, 4, eventOwner);
             ps.setString(5, eventStatus.name());
             ps.setTimestamp(6, new Timestamp(eventStartTime));
             ps.setTimestamp(7, new Timestamp(eventEndTime));
             ps.setString(8, locationJson);
-            ps.setString(9, entrantJson);
-            ps.setString(10, eventOptionsJson);
+            ps.setString(9, eventOptionsJson);
 
             ps.execute();
         }
+
+        if (gameEvent.getEntrant() != null)
+            entrantTable.addAll(eventId, gameEvent.getEntrant());
     }
 
     protected void setStatus(@NotNull UUID eventId, @NotNull GameEventStatus status) throws SQLException {
@@ -154,38 +302,36 @@ public class GameEventTable extends DatabaseTable {
                      "UPDATE " + getTableName() + " SET event_status = ? WHERE id= ?"
              )) {
             ps.setString(1, eventStatus);
-            ps.setString(2, eventId.toString());
+            setUuid(ps, 2, eventId);
 
             ps.execute();
         }
     }
 
-    protected void setEntrant(@NotNull UUID eventId, @NotNull List<UUID> entrant) throws JsonProcessingException, SQLException {
-        String entrantJson = MAPPER.writeValueAsString(entrant);
+    protected void addEntrant(@NotNull UUID eventId, @NotNull UUID playerId) throws SQLException {
+        entrantTable.add(eventId, playerId);
+    }
 
-        try (Connection connection = getConnector().getConnection();
-             PreparedStatement ps = connection.prepareStatement(
-                     "UPDATE " + getTableName() + " SET entrant = ? WHERE id= ?"
-             )) {
-            ps.setString(1, entrantJson);
-            ps.setString(2, eventId.toString());
+    protected void addEntrants(@NotNull List<EventEntrantTable.Entrant> entrants) throws SQLException {
+        entrantTable.addBatch(entrants);
+    }
 
-            ps.execute();
-        }
+    protected List<UUID> getEventIdsByEntrant(@NotNull UUID playerId) throws SQLException {
+        return entrantTable.getByPlayer(playerId);
     }
 
     protected void setOptions(@NotNull UUID eventId, @Nullable EventOptions options) throws JsonProcessingException, SQLException {
         String eventOptionsJson = null;
 
         if (options != null)
-            eventOptionsJson = MAPPER.writeValueAsString(options);
+            eventOptionsJson = Codecs.EVENT_OPTIONS_WRITER.writeValueAsString(options);
 
         try (Connection connection = getConnector().getConnection();
              PreparedStatement ps = connection.prepareStatement(
                      "UPDATE " + getTableName() + " SET event_options = ? WHERE id= ?"
              )) {
             ps.setString(1, eventOptionsJson);
-            ps.setString(2, eventId.toString());
+            setUuid(ps, 2, eventId);
 
             ps.execute();
         }
@@ -196,48 +342,101 @@ public class GameEventTable extends DatabaseTable {
              PreparedStatement ps = connection.prepareStatement(
                      "DELETE FROM " + getTableName() + " WHERE id = ?"
              )) {
-            ps.setString(1, eventId.toString());
+            setUuid(ps, 1, eventId);
             ps.execute();
         }
+        entrantTable.deleteByEvent(eventId);
     }
 
-    private GameEvent parseResult(ResultSet resultSet) throws JsonProcessingException, SQLException {
-        val eventId = UUID.fromString(resultSet.getString("id"));
+    private List<GameEvent> readEvents(ResultSet resultSet) throws SQLException {
+        val rows = new ArrayList<EventRow>();
+        while (resultSet.next())
+            rows.add(parseResult(resultSet));
+
+        val entrants = entrantTable.getByEvents(rows.stream().map(EventRow::eventId).toList());
+        val events = new ArrayList<GameEvent>(rows.size());
+        for (EventRow row : rows)
+            events.add(row.toEvent(entrants.getOrDefault(row.eventId(), List.of())));
+        return events;
+    }
+
+    private GameEventSummary parseSummary(ResultSet resultSet) throws SQLException {
+        return new GameEventSummary(getUuid(resultSet, "id"),
+                resultSet.getString("event_name"),
+                resultSet.getString("description"),
+                getUuid(resultSet, "owner_id"),
+                GameEventStatus.valueOf(resultSet.getString("event_status")),
+                resultSet.getTimestamp("start_date").getTime(),
+                resultSet.getTimestamp("end_date").getTime());
+    }
+
+    private EventRow parseResult(ResultSet resultSet) throws SQLException {
+        val eventId = getUuid(resultSet, "id");
         val eventName = resultSet.getString("event_name");
         val eventDescription = resultSet.getString("description");
-        val eventOwner = UUID.fromString(resultSet.getString("owner_id"));
+        val eventOwner = getUuid(resultSet, "owner_id");
         val eventStatus = GameEventStatus.valueOf(resultSet.getString("event_status"));
         val eventStartTime = resultSet.getTimestamp("start_date").getTime();
         val eventEndTime = resultSet.getTimestamp("end_date").getTime();
 
-        val locationJson = resultSet.getString("location");
-        val entrantJson = resultSet.getString("entrant");
-        val eventOptionsJson = resultSet.getString("event_options");
-
-        Location eventLocation = null;
-        List<UUID> entrant = new ArrayList<>();
-        EventOptions eventOptions = null;
-
-        if (!StringUtils.isEmpty(locationJson))
-            eventLocation = Location.deserialize(MAPPER.readValue(locationJson, new TypeReference<>() {
-            }));
-        if (!StringUtils.isEmpty(entrantJson))
-            entrant = MAPPER.readValue(entrantJson, new TypeReference<List<String>>() {
-                    }).stream()
-                    .map(UUID::fromString)
-                    .collect(Collectors.toList());
-        if (!StringUtils.isEmpty(eventOptionsJson))
-            eventOptions = MAPPER.readValue(eventOptionsJson, EventOptions.class);
-
-        return new DefaultGameEvent(eventId,
+        // The JSON columns are kept as raw bytes and parsed by LazyGameEvent when they are first used.
+        val locationJson = resultSet.getBytes("location");
+        val eventOptionsJson = resultSet.getBytes("event_options");
+
+        return new EventRow(eventId,
                 eventName,
                 eventDescription,
                 eventOwner,
                 eventStartTime,
                 eventEndTime,
-                eventLocation,
-                entrant,
-                eventOptions,
+                locationJson,
+                eventOptionsJson,
                 eventStatus);
     }
+
+    static Location readLocation(byte[] locationJson, UUID eventId) {
+        if (locationJson == null || locationJson.length == 0)
+            return null;
+
+        try {
+            return Location.deserialize(Codecs.LOCATION_READER.readValue(locationJson));
+        } catch (IOException e) {
+            PluginLogger.log(Level.WARNING, "An error occurred during Json processing. (EventID = " + eventId + ")", e);
+            return null;
+        }
+    }
+
+    static EventOptions readEventOptions(byte[] eventOptionsJson, UUID eventId) {
+        if (eventOptionsJson == null || eventOptionsJson.length == 0)
+            return null;
+
+        try {
+            return Codecs.EVENT_OPTIONS_READER.readValue(eventOptionsJson);
+        } catch (IOException e) {
+            PluginLogger.log(Level.WARNING, "An error occurred during Json processing. (EventID = " + eventId + ")", e);
+            return null;
+        }
+    }
+
+
+    /**
+     * Columns of one event row. The entrants are read from the entrant table separately.
+     */
+    private record EventRow(UUID eventId, String eventName, String eventDescription, UUID eventOwner,
+                            long eventStartTime, long eventEndTime, byte[] locationJson,
+                            byte[] eventOptionsJson, GameEventStatus eventStatus) {
+
+        private GameEvent toEvent(List<UUID> entrant) {
+            return new LazyGameEvent(eventId,
+                    eventName,
+                    eventDescription,
+                    eventOwner,
+                    eventStartTime,
+                    eventEndTime,
+                    locationJson,
+                    entrant,
+                    eventOptionsJson,
+                    eventStatus);
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.database;
+
+import dev.nafusoft.eventassistcore.gameevent.DefaultGameEvent;
+import dev.nafusoft.eventassistcore.gameevent.EventOptions;
+import dev.nafusoft.eventassistcore.gameevent.GameEventStatus;
+import org.bukkit.Location;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link DefaultGameEvent} read from the database, which keeps the raw location and options columns
+ * and parses each of them the first time it is accessed.
+ * The world of the location is therefore not resolved until the location is used.
+ */
+final class LazyGameEvent extends DefaultGameEvent {
+    private byte[] locationJson;
+    private byte[] eventOptionsJson;
+    private volatile boolean locationParsed;
+    private volatile boolean eventOptionsParsed;
+    private Location eventLocation;
+    private EventOptions eventOptions;
+
+    LazyGameEvent(UUID eventId,
+                  String eventName,
+                  String eventDescription,
+                  UUID eventOwner,
+                  long eventStartTime,
+                  long eventEndTime,
+                  byte[] locationJson,
+                  List<UUID> entrant,
+                  byte[] eventOptionsJson,
+                  GameEventStatus eventStatus) {
+        super(eventId, eventName, eventDescription, eventOwner, eventStartTime, eventEndTime, null, entrant, null, eventStatus);
+        this.locationJson = locationJson;
+        this.eventOptionsJson = eventOptionsJson;
+    }
+
+    @Override
+    public Location getEventLocation() {
+        if (!locationParsed) {
+            synchronized (this) {
+                if (!locationParsed) {
+                    eventLocation = GameEventTable.readLocation(locationJson, getEventId());
+                    locationJson = null;
+                    locationParsed = true;
+                }
+            }
+        }
+        return eventLocation;
+    }
+
+    @Override
+    public EventOptions getEventOptions() {
+        if (!eventOptionsParsed) {
+            synchronized (this) {
+                if (!eventOptionsParsed) {
+                    eventOptions = GameEventTable.readEventOptions(eventOptionsJson, getEventId());
+                    eventOptionsJson = null;
+                    eventOptionsParsed = true;
+                }
+            }
+        }
+        return eventOptions;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.zip.CRC32;
+
+/**
+ * One step of the schema of a table.<br>
+ * Steps of a table are applied in ascending order of version, and each version is applied only once.
+ * The checksum is recorded with the version, so that a step changed after it has been applied can be detected.
+ * A repeatable step is applied again instead whenever its checksum changes, such as when the setting it depends on is changed.
+ *
+ * @param version     Version of the table after this step
+ * @param description Description shown in logs and the dry-run report
+ * @param checksum    Checksum of the step
+ * @param repeatable  Whether the step is applied again when its checksum changes
+ * @param step        Work of the step
+ */
+public record Migration(int version, @NotNull String description, @NotNull String checksum, boolean repeatable, @NotNull Step step) {
+
+    public static @NotNull Migration of(int version, @NotNull String description, @NotNull Step step) {
+        return new Migration(version, description, checksum(version + ":" + description), false, step);
+    }
+
+    /**
+     * Creates a step that is applied again whenever the key changes.
+     *
+     * @param version     Version of the table after this step
+     * @param description Description shown in logs and the dry-run report
+     * @param key         Value the step depends on, such as a setting
+     * @param step        Work of the step. It must do nothing if the table is already in the expected state.
+     * @return {@link Migration Migration}
+     */
+    public static @NotNull Migration repeatable(int version, @NotNull String description, @NotNull String key, @NotNull Step step) {
+        return new Migration(version, description, checksum(version + ":" + key), true, step);
+    }
+
+    static @NotNull String checksum(@NotNull String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Applies the step.
+         * The connection is in auto-commit mode. Steps that move data should use {@link BatchedBackfill}.
+         *
+         * @param connection Connection to use
+         * @throws SQLException Thrown when the step fails. The version is not recorded, so the step is retried on the next start.
+         */
+        void apply(@NotNull Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Brings tables up to the latest version of their schema by applying their {@link Migration migrations}.<br>
+ * In dry-run mode nothing is written. The tables that would be created and the migrations that would be applied
+ * are collected into {@link #getReport()} instead.
+ */
+public final class SchemaMigrator {
+    private final SchemaVersionTable versionTable;
+    private final boolean dryRun;
+    private final List<String> report = new ArrayList<>();
+    private boolean initialized;
+
+    public SchemaMigrator(String prefix, @NotNull DatabaseConnector connector, boolean dryRun) {
+        this.versionTable = new SchemaVersionTable(prefix, connector);
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Applies the migrations of the table that have not been applied yet, in order of version.
+     *
+     * @param table Table to migrate
+     * @throws SQLException Thrown when a migration fails. Migrations applied before it stay recorded.
+     */
+    public synchronized void migrate(@NotNull DatabaseTable table) throws SQLException {
+        if (!initialized) {
+            versionTable.createTable();
+            initialized = true;
+        }
+
+        // In dry-run mode, a missing table has been reported by createTable, and nothing has been applied to it yet.
+        if (dryRun && !table.exists())
+            return;
+
+        val migrations = new ArrayList<>(table.getMigrations());
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        val applied = dryRun && !versionTable.exists() ? Map.<Integer, String>of() : versionTable.getApplied(table.getTableName());
+
+        for (Migration migration : migrations) {
+            val checksum = applied.get(migration.version());
+            if (checksum != null) {
+                if (checksum.equals(migration.checksum()))
+                    continue;
+                if (!migration.repeatable()) {
+                    PluginLogger.log(Level.WARNING, "Migration {0} of {1} has changed since it was applied.",
+                            new Object[]{migration.version(), table.getTableName()});
+                    continue;
+                }
+            }
+
+            if (dryRun) {
+                report.add(table.getTableName() + " v" + migration.version() + ": " + migration.description());
+                continue;
+            }
+
+            PluginLogger.log(Level.INFO, "Applying migration {0} of {1}: {2}",
+                    new Object[]{migration.version(), table.getTableName(), migration.description()});
+            try (val connection = table.getConnector().getConnection()) {
+                migration.step().apply(connection);
+            }
+            versionTable.record(table.getTableName(), migration);
+        }
+    }
+
+    /**
+     * Adds the table to the report if it does not exist. Used instead of creating the table in dry-run mode.
+     *
+     * @param table Table to check
+     * @throws SQLException Thrown when reading the database fails.
+     */
+    synchronized void reportMissingTable(@NotNull DatabaseTable table) throws SQLException {
+        if (!table.exists())
+            report.add(table.getTableName() + ": create table");
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * @return Tables that would be created and migrations that would be applied, in the order they would be applied.
+     * Only filled in dry-run mode.
+     */
+    public synchronized @NotNull List<String> getReport() {
+        return List.copyOf(report);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the migrations applied to each table.
+ */
+public class SchemaVersionTable extends DatabaseTable {
+
+    public SchemaVersionTable(@Nullable String prefix, @NotNull DatabaseConnector connector) {
+        super(prefix, "schema_version", connector);
+    }
+
+    public void createTable() throws SQLException {
+        super.createTable("table_name VARCHAR(64) NOT NULL, version INT NOT NULL, description VARCHAR(200) NOT NULL, " +
+                "checksum VARCHAR(16) NOT NULL, applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "PRIMARY KEY (table_name, version)");
+    }
+
+    /**
+     * @param tableName Table to look up
+     * @return Checksums of the applied migrations by version
+     */
+    protected Map<Integer, String> getApplied(@NotNull String tableName) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "SELECT version, checksum FROM " + getTableName() + " WHERE table_name = ?"
+             )) {
+            ps.setString(1, tableName);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                val applied = new HashMap<Integer, String>();
+                while (resultSet.next())
+                    applied.put(resultSet.getInt("version"), resultSet.getString("checksum"));
+                return applied;
+            }
+        }
+    }
+
+    protected void record(@NotNull String tableName, @NotNull Migration migration) throws SQLException {
+        try (val connection = getConnector().getConnection();
+             val ps = connection.prepareStatement(
+                     "REPLACE INTO " + getTableName() + " (table_name, version, description, checksum) VALUES (?, ?, ?, ?)"
+             )) {
+            ps.setString(1, tableName);
+            ps.setInt(2, migration.version());
+            ps.setString(3, migration.description());
+            ps.setString(4, migration.checksum());
+            ps.execute();
+        }
+    }
+}
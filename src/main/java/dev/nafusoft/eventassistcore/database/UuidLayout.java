@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * How UUID columns are stored in the database.
+ */
+public enum UuidLayout {
+    /**
+     * 36 character text, such as {@code 123e4567-e89b-12d3-a456-426614174000}. This is the layout of older versions.
+     */
+    STRING("VARCHAR(36)", "varchar") {
+        @Override
+        public void set(@NotNull PreparedStatement ps, int index, @NotNull UUID uuid) throws SQLException {
+            ps.setString(index, uuid.toString());
+        }
+
+        @Override
+        public @Nullable UUID get(@NotNull ResultSet resultSet, @NotNull String column) throws SQLException {
+            String value = resultSet.getString(column);
+            return value == null ? null : UUID.fromString(value);
+        }
+
+        @Override
+        String convertFrom(@NotNull String column) {
+            return "LOWER(CONCAT_WS('-', SUBSTR(HEX(" + column + "), 1, 8), SUBSTR(HEX(" + column + "), 9, 4), " +
+                    "SUBSTR(HEX(" + column + "), 13, 4), SUBSTR(HEX(" + column + "), 17, 4), SUBSTR(HEX(" + column + "), 21)))";
+        }
+    },
+    /**
+     * 16 bytes in big-endian order. Keys and indexes are less than half the size of {@link #STRING}, and no text is parsed to read them.
+     */
+    BINARY("BINARY(16)", "binary") {
+        @Override
+        public void set(@NotNull PreparedStatement ps, int index, @NotNull UUID uuid) throws SQLException {
+            ps.setBytes(index, ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array());
+        }
+
+        @Override
+        public @Nullable UUID get(@NotNull ResultSet resultSet, @NotNull String column) throws SQLException {
+            byte[] value = resultSet.getBytes(column);
+            return value == null ? null : fromBytes(value);
+        }
+
+        @Override
+        String convertFrom(@NotNull String column) {
+            return "UNHEX(REPLACE(" + column + ", '-', ''))";
+        }
+    };
+
+    private final String columnType;
+    private final String dataType;
+
+    UuidLayout(String columnType, String dataType) {
+        this.columnType = columnType;
+        this.dataType = dataType;
+    }
+
+    /**
+     * @return Column definition used in DDL
+     */
+    public @NotNull String getColumnType() {
+        return columnType;
+    }
+
+    /**
+     * @return Data type as reported by information_schema.columns
+     */
+    @NotNull String getDataType() {
+        return dataType;
+    }
+
+    public abstract void set(@NotNull PreparedStatement ps, int index, @NotNull UUID uuid) throws SQLException;
+
+    public abstract @Nullable UUID get(@NotNull ResultSet resultSet, @NotNull String column) throws SQLException;
+
+    /**
+     * Returns an SQL expression that converts the column from the other layout into this layout.
+     *
+     * @param column Column in the other layout
+     * @return SQL expression
+     */
+    abstract String convertFrom(@NotNull String column);
+
+    /**
+     * Decodes a UUID stored in the {@link #BINARY} layout.
+     *
+     * @param value 16 bytes in big-endian order
+     * @return Decoded UUID
+     */
+    static @NotNull UUID fromBytes(byte @NotNull [] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.nafusoft.eventassistcore.database;
+
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Converts the UUID columns of a table to the configured {@link UuidLayout} in place.<br>
+ * Each column is copied into a new column in chunks, and the columns are swapped with a single ALTER TABLE at the end.
+ * Until the swap, the table keeps working with its old columns, and an interrupted conversion is copied again from the start.
+ */
+final class UuidLayoutMigration {
+    private static final String NEW_COLUMN_SUFFIX = "_uuid_new";
+
+    private UuidLayoutMigration() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Creates a migration that is applied again whenever the configured layout changes.
+     *
+     * @param version    Version of the migration
+     * @param table      Table to convert
+     * @param columns    UUID columns of the table. All of them must be NOT NULL.
+     * @param keyColumn  Unique and indexed column that the rows are copied in order of
+     * @param primaryKey Primary key of the table, which is re-created after the swap
+     * @param reindex    Re-creates the secondary indexes that contained the columns
+     * @return {@link Migration Migration}
+     */
+    static @NotNull Migration of(int version,
+                                 @NotNull DatabaseTable table,
+                                 @NotNull List<String> columns,
+                                 @NotNull String keyColumn,
+                                 @NotNull String primaryKey,
+                                 @NotNull Migration.Step reindex) {
+        val layout = table.getConnector().getUuidLayout();
+        return Migration.repeatable(version, "Store UUID columns as " + layout.getColumnType(), layout.name(), connection -> {
+            val pending = new ArrayList<String>();
+            for (String column : columns) {
+                if (!layout.getDataType().equalsIgnoreCase(getDataType(connection, table, column)))
+                    pending.add(column);
+            }
+            if (pending.isEmpty())
+                return;
+
+            PluginLogger.log(Level.INFO, "Converting {0} of {1} to {2}.", new Object[]{pending, table.getTableName(), layout.getColumnType()});
+            for (String column : pending) {
+                val newColumn = column + NEW_COLUMN_SUFFIX;
+                if (getDataType(connection, table, newColumn) == null)
+                    execute(connection, "ALTER TABLE " + table.getTableName() + " ADD COLUMN " + newColumn + " " + layout.getColumnType() + " NULL");
+
+                BatchedBackfill.runByKey(connection, "UUID conversion of " + table.getTableName() + "." + column,
+                        table.getTableName(), keyColumn, BatchedBackfill.DEFAULT_CHUNK_SIZE, (chunkConnection, range) -> {
+                            try (val ps = chunkConnection.prepareStatement(
+                                    "UPDATE " + table.getTableName() + " SET " + newColumn + " = " + layout.convertFrom(column) +
+                                            " WHERE " + range.condition()
+                            )) {
+                                range.bind(ps, 1);
+                                ps.executeUpdate();
+                            }
+
+                            // A value that cannot be converted would otherwise become NULL, and the swap would fail on it later.
+                            try (val ps = chunkConnection.prepareStatement(
+                                    "SELECT " + column + " FROM " + table.getTableName() +
+                                            " WHERE " + range.condition() + " AND " + newColumn + " IS NULL LIMIT 1"
+                            )) {
+                                range.bind(ps, 1);
+                                try (ResultSet resultSet = ps.executeQuery()) {
+                                    if (resultSet.next())
+                                        throw new SQLException("The value '" + resultSet.getString(1) + "' of " + table.getTableName() +
+                                                "." + column + " is not a valid UUID and cannot be converted to " + layout.getColumnType() + ".");
+                                }
+                            }
+                        });
+            }
+
+            val alter = new StringBuilder("ALTER TABLE ").append(table.getTableName()).append(" DROP PRIMARY KEY");
+            for (String column : pending) {
+                alter.append(", DROP COLUMN ").append(column)
+                        .append(", CHANGE COLUMN ").append(column).append(NEW_COLUMN_SUFFIX).append(' ').append(column)
+                        .append(' ').append(layout.getColumnType()).append(" NOT NULL");
+            }
+            alter.append(", ADD PRIMARY KEY (").append(primaryKey).append(')');
+            execute(connection, alter.toString());
+            reindex.apply(connection);
+        });
+    }
+
+    private static String getDataType(Connection connection, DatabaseTable table, String column) throws SQLException {
+        try (val ps = connection.prepareStatement(
+                "SELECT data_type FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?"
+        )) {
+            ps.setString(1, table.getTableName());
+            ps.setString(2, column);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                return resultSet.next() ? resultSet.getString("data_type") : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (val ps = connection.prepareStatement(sql)) {
+            ps.execute();
+        }
+    }
+}
@@ -17,8 +17,9 @@
 package dev.nafusoft.eventassistcore.gameevent;
 
 import dev.nafusoft.eventassistcore.EventAssistCore;
-import dev.nafusoft.eventassistcore.automation.AutomationActionContext;
-import dev.nafusoft.eventassistcore.automation.actions.AutomationAction;
+import dev.nafusoft.eventassistcore.automation.AutomationTimeline;
+import dev.nafusoft.eventassistcore.automation.AutomationType;
+import dev.nafusoft.eventassistcore.automation.EventAutomation;
 import dev.nafusoft.eventassistcore.event.GameEventEndEvent;
 import dev.nafusoft.eventassistcore.event.GameEventStartEvent;
 import dev.nafusoft.eventassistcore.utils.PluginLogger;
@@ -36,24 +37,9 @@ public class ChangeEventStateHandler implements Listener {
     public void onGameEventStartEvent(GameEventStartEvent event) {
         Bukkit.getServer().getScheduler().runTaskAsynchronously(EventAssistCore.getInstance(), () -> {
             PluginLogger.info("Perform event start automation: " + event.getGameEvent().getEventName());
-            val automation = EventAssistCore.getInstance().getAutomationManager().getStartAutomation(event.getGameEvent().getEventId());
-            if (automation != null) {
-                for (AutomationAction automationAction : automation.getActions()) {
-                    automationAction.execute(new AutomationActionContext(event.getGameEvent()));
-                    try {
-                        Thread.sleep(automation.getAutomationDelayTime() * 1000L);
-                    } catch (InterruptedException e) {
-                        PluginLogger.log(Level.WARNING,
-                                """
-                                        An interrupt has occurred in the automation thread.
-                                        Normally this error is not reproduced.
-                                        If the problem repeats, please report it to the developer with the status of the operation.
-                                        """,
-                                e);
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
+            val automation = getAutomation(event.getGameEvent(), AutomationType.START_AUTOMATION);
+            if (automation != null)
+                AutomationTimeline.start(EventAssistCore.getInstance(), event.getGameEvent(), automation);
         });
 
         event.getGameEvent().changeStatus(event.getNewStatus());
@@ -63,26 +49,25 @@ public class ChangeEventStateHandler implements Listener {
     public void onGameEventEndEvent(GameEventEndEvent event) {
         Bukkit.getServer().getScheduler().runTaskAsynchronously(EventAssistCore.getInstance(), () -> {
             PluginLogger.info("Perform event end automation: " + event.getGameEvent().getEventName());
-            val automation = EventAssistCore.getInstance().getAutomationManager().getEndAutomation(event.getGameEvent().getEventId());
-            if (automation != null) {
-                for (AutomationAction automationAction : automation.getActions()) {
-                    automationAction.execute(new AutomationActionContext(event.getGameEvent()));
-                    try {
-                        Thread.sleep(automation.getAutomationDelayTime() * 1000L);
-                    } catch (InterruptedException e) {
-                        PluginLogger.log(Level.WARNING,
-                                """
-                                        An interrupt has occurred in the automation thread.
-                                        Normally this error is not reproduced.
-                                        If the problem repeats, please report it to the developer with the status of the operation.
-                                        """,
-                                e);
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
+            val automation = getAutomation(event.getGameEvent(), AutomationType.END_AUTOMATION);
+            if (automation != null)
+                AutomationTimeline.start(EventAssistCore.getInstance(), event.getGameEvent(), automation);
         });
 
         event.getGameEvent().changeStatus(event.getNewStatus());
     }
+
+    /**
+     * Returns the automation prefetched by {@link dev.nafusoft.eventassistcore.automation.AutomationPrefetcher AutomationPrefetcher},
+     * or reads it from the database if it has not been prefetched.
+     */
+    private EventAutomation getAutomation(GameEvent gameEvent, AutomationType type) {
+        val automationManager = EventAssistCore.getInstance().getAutomationManager();
+        if (!automationManager.isCached(gameEvent.getEventId()))
+            PluginLogger.log(Level.INFO, "The automation of {0} has not been prefetched and is read now.", gameEvent.getEventName());
+
+        return type == AutomationType.START_AUTOMATION
+                ? automationManager.getStartAutomation(gameEvent.getEventId())
+                : automationManager.getEndAutomation(gameEvent.getEventId());
+    }
 }
@@ -20,18 +20,17 @@ import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.event.GameEventPlayerEntryEvent;
 import dev.nafusoft.eventassistcore.event.GameEventStatusUpdateEvent;
 import dev.nafusoft.eventassistcore.exception.EventRegisterException;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.val;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-@AllArgsConstructor
 @Data
 public class DefaultGameEvent implements GameEvent {
     private final UUID eventId;
@@ -41,28 +40,76 @@ public class DefaultGameEvent implements GameEvent {
     private final long eventStartTime;
     private final long eventEndTime;
     private final Location eventLocation;
-    private final List<UUID> entrant;
+    private final EntrantSet entrant;
     private final EventOptions eventOptions;
     private GameEventStatus eventStatus;
 
+    /**
+     * Kept so that plugins compiled against the constructor taking a {@link List} keep working.
+     */
+    public DefaultGameEvent(UUID eventId,
+                            String eventName,
+                            String eventDescription,
+                            UUID eventOwner,
+                            long eventStartTime,
+                            long eventEndTime,
+                            Location eventLocation,
+                            List<UUID> entrant,
+                            EventOptions eventOptions,
+                            GameEventStatus eventStatus) {
+        this(eventId, eventName, eventDescription, eventOwner, eventStartTime, eventEndTime, eventLocation,
+                (Collection<UUID>) entrant, eventOptions, eventStatus);
+    }
+
+    public DefaultGameEvent(UUID eventId,
+                            String eventName,
+                            String eventDescription,
+                            UUID eventOwner,
+                            long eventStartTime,
+                            long eventEndTime,
+                            Location eventLocation,
+                            Collection<UUID> entrant,
+                            EventOptions eventOptions,
+                            GameEventStatus eventStatus) {
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.eventDescription = eventDescription;
+        this.eventOwner = eventOwner;
+        this.eventStartTime = eventStartTime;
+        this.eventEndTime = eventEndTime;
+        this.eventLocation = eventLocation;
+        this.entrant = new EntrantSet(entrant);
+        this.eventOptions = eventOptions;
+        this.eventStatus = eventStatus;
+    }
+
+    /**
+     * Returns an immutable snapshot of the entrants in the order they entered.
+     * The snapshot is shared until the entrants change, so it is cheap to call repeatedly.
+     */
     @Override
     public List<UUID> getEntrant() {
-        return Collections.unmodifiableList(entrant);
+        return entrant.snapshot();
+    }
+
+    @Override
+    public boolean isEntrant(UUID playerId) {
+        return entrant.contains(playerId);
     }
 
     @Override
     public boolean entryEvent(Player player) {
-        if (!getEntrant().contains(player.getUniqueId())) {
+        val playerId = player.getUniqueId();
+        if (!entrant.contains(playerId)) {
             val event = new GameEventPlayerEntryEvent(this, player);
             Bukkit.getServer().getPluginManager().callEvent(event);
 
-            if (!event.isCancelled()) {
-                entrant.add(player.getUniqueId());
+            if (!event.isCancelled() && entrant.add(playerId)) {
                 try {
-                    EventAssistCore.getInstance().getEventManager().updateEventEntrant(this);
+                    EventAssistCore.getInstance().getEventManager().addEventEntrant(this, playerId);
                     return true;
                 } catch (EventRegisterException e) {
-                    entrant.remove(player.getUniqueId());
+                    entrant.remove(playerId);
                 }
             }
         }
@@ -70,6 +117,27 @@ public class DefaultGameEvent implements GameEvent {
         return false;
     }
 
+    /**
+     * Enters the player into the event. The entrant is added in memory immediately, and removed again if saving fails.<br>
+     * The entry is saved together with the other entries made within the batch window of the {@link EntryPipeline}.
+     * Must be called on the main thread, because {@link GameEventPlayerEntryEvent} is called synchronously.
+     * The returned future is completed on a database thread.
+     */
+    @Override
+    public CompletableFuture<Boolean> entryEventAsync(Player player) {
+        val playerId = player.getUniqueId();
+        if (entrant.contains(playerId))
+            return CompletableFuture.completedFuture(false);
+
+        val event = new GameEventPlayerEntryEvent(this, player);
+        Bukkit.getServer().getPluginManager().callEvent(event);
+        if (event.isCancelled() || !entrant.add(playerId))
+            return CompletableFuture.completedFuture(false);
+
+        return EventAssistCore.getInstance().getEventManager()
+                .addEventEntrantAsync(this, playerId, () -> entrant.remove(playerId));
+    }
+
     @Override
     public void changeStatus(GameEventStatus eventStatus) {
         val oldStatus = GameEventStatus.valueOf(this.eventStatus.name());
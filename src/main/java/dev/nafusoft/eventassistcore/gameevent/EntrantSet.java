@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Insertion-ordered set of entrant UUIDs with O(1) membership.<br>
+ * UUIDs are held as two longs in parallel arrays and looked up through an open addressing table of positions.
+ * All operations are thread-safe, and {@link #snapshot()} returns an immutable list that is rebuilt only after a change.
+ */
+final class EntrantSet {
+    private static final int EMPTY = 0;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private int size;
+    private int[] table; // Holds (position in the arrays + 1), 0 means an empty slot.
+    private volatile List<UUID> snapshot;
+
+    EntrantSet(@NotNull Collection<UUID> entrant) {
+        int capacity = Math.max(8, entrant.size());
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        table = new int[tableSizeFor(capacity)];
+        entrant.forEach(this::add);
+        snapshot = null;
+    }
+
+    synchronized boolean contains(@NotNull UUID uuid) {
+        return find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    synchronized boolean add(@NotNull UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        if (find(most, least) >= 0)
+            return false;
+
+        if (size == mostBits.length) {
+            mostBits = Arrays.copyOf(mostBits, size * 2);
+            leastBits = Arrays.copyOf(leastBits, size * 2);
+        }
+        mostBits[size] = most;
+        leastBits[size] = least;
+        size++;
+
+        if (size * 2 > table.length)
+            rehash(table.length * 2);
+        else
+            insert(size - 1);
+
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Removes the UUID. This is O(n) because the insertion order has to be kept,
+     * but it is only used to roll back a failed entry.
+     */
+    synchronized boolean remove(@NotNull UUID uuid) {
+        int position = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (position < 0)
+            return false;
+
+        System.arraycopy(mostBits, position + 1, mostBits, position, size - position - 1);
+        System.arraycopy(leastBits, position + 1, leastBits, position, size - position - 1);
+        size--;
+        rehash(table.length);
+
+        snapshot = null;
+        return true;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the entrants in the order they entered.
+     *
+     * @return Immutable list of entrants
+     */
+    @NotNull List<UUID> snapshot() {
+        List<UUID> result = snapshot;
+        if (result == null) {
+            synchronized (this) {
+                result = snapshot;
+                if (result == null) {
+                    UUID[] entrant = new UUID[size];
+                    for (int i = 0; i < size; i++)
+                        entrant[i] = new UUID(mostBits[i], leastBits[i]);
+                    result = Collections.unmodifiableList(Arrays.asList(entrant));
+                    snapshot = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private int find(long most, long least) {
+        int mask = table.length - 1;
+        for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == EMPTY)
+                return -1;
+            if (mostBits[entry - 1] == most && leastBits[entry - 1] == least)
+                return entry - 1;
+        }
+    }
+
+    private void insert(int position) {
+        int mask = table.length - 1;
+        int slot = hash(mostBits[position], leastBits[position]) & mask;
+        while (table[slot] != EMPTY)
+            slot = (slot + 1) & mask;
+        table[slot] = position + 1;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        for (int i = 0; i < size; i++)
+            insert(i);
+    }
+
+    private static int hash(long most, long least) {
+        long bits = most ^ least;
+        int hash = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(16, capacity * 2 - 1)) << 1;
+    }
+}
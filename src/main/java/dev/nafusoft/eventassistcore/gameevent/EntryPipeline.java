@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import dev.nafusoft.eventassistcore.database.EventEntrantTable;
+import dev.nafusoft.eventassistcore.utils.PluginLogger;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Collects entries for a short window and saves all of them in one transaction.<br>
+ * Each entry is reported through its own future, which is completed on a database thread.
+ * When an entry fails, its rollback is run before the future is completed with false.
+ */
+public final class EntryPipeline {
+    private final GameEventManager manager;
+    private final Executor flushExecutor;
+    private final Queue<PendingEntry> pending;
+    private final AtomicBoolean flushScheduled;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong entryCount = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile boolean closed;
+
+    EntryPipeline(@NotNull GameEventManager manager, @NotNull Executor databaseExecutor, long windowMillis) {
+        this.manager = manager;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushExecutor = CompletableFuture.delayedExecutor(windowMillis, TimeUnit.MILLISECONDS, command -> {
+            try {
+                databaseExecutor.execute(command);
+            } catch (RejectedExecutionException e) {
+                PluginLogger.log(Level.WARNING, "The database queue is full, entries could not be saved.", e);
+                flushScheduled.set(false);
+                fail(drain());
+            }
+        });
+    }
+
+    /**
+     * Queues the entry to be saved with the next batch.
+     *
+     * @param event    Event the player has entered
+     * @param playerId Player who has entered
+     * @param rollback Run when the entry could not be saved
+     * @return Future completed with true if the entry has been saved, otherwise false.
+     */
+    @NotNull CompletableFuture<Boolean> submit(@NotNull GameEvent event, @NotNull UUID playerId, @NotNull Runnable rollback) {
+        val entry = new PendingEntry(event, playerId, rollback, new CompletableFuture<>());
+        pending.add(entry);
+        if (closed)
+            flush();
+        else if (flushScheduled.compareAndSet(false, true))
+            flushExecutor.execute(this::flush);
+        return entry.future();
+    }
+
+    /**
+     * Saves the queued entries on the calling thread without waiting for the batch window.<br>
+     * Entries submitted after this are saved immediately on the submitting thread.
+     * Call this before the database executor is shut down, otherwise the queued entries are rolled back.
+     */
+    public void close() {
+        closed = true;
+        flush();
+    }
+
+    /**
+     * @return Number of entries waiting for the next batch.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return Number of batches saved so far.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return Number of entries saved so far.
+     */
+    public long getEntryCount() {
+        return entryCount.get();
+    }
+
+    /**
+     * @return Number of entries in the last batch.
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        val batch = drain();
+        if (batch.isEmpty())
+            return;
+
+        val entrants = new ArrayList<EventEntrantTable.Entrant>(batch.size());
+        batch.forEach(entry -> entrants.add(new EventEntrantTable.Entrant(entry.event().getEventId(), entry.playerId())));
+
+        boolean[] results;
+        try {
+            results = manager.addEventEntrants(batch.stream().map(PendingEntry::event).toList(), entrants);
+        } catch (RuntimeException e) {
+            PluginLogger.log(Level.WARNING, "An error has occurred while registering event information.", e);
+            fail(batch);
+            return;
+        }
+
+        batchCount.incrementAndGet();
+        lastBatchSize = batch.size();
+        for (int i = 0; i < batch.size(); i++) {
+            val entry = batch.get(i);
+            if (results[i]) {
+                entryCount.incrementAndGet();
+                entry.future().complete(true);
+            } else {
+                fail(List.of(entry));
+            }
+        }
+    }
+
+    private List<PendingEntry> drain() {
+        val batch = new ArrayList<PendingEntry>();
+        PendingEntry entry;
+        while ((entry = pending.poll()) != null)
+            batch.add(entry);
+        return batch;
+    }
+
+    private static void fail(List<PendingEntry> entries) {
+        entries.forEach(entry -> {
+            entry.rollback().run();
+            entry.future().complete(false);
+        });
+    }
+
+
+    private record PendingEntry(GameEvent event, UUID playerId, Runnable rollback, CompletableFuture<Boolean> future) {
+    }
+}
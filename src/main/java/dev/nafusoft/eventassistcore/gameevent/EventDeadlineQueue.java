@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Holds the next status transition (start or end) of each resident event, ordered by the time it is due.<br>
+ * Scheduling and cancelling are O(log n), and checking whether anything is due is O(1) without taking a lock.
+ */
+public final class EventDeadlineQueue {
+    private static final Comparator<Deadline> ORDER =
+            Comparator.comparingLong(Deadline::time).thenComparingLong(Deadline::sequence);
+
+    private final NavigableSet<Deadline> queue = new TreeSet<>(ORDER);
+    private final Map<UUID, Deadline> deadlines = new HashMap<>();
+    private final Set<UUID> polled = new HashSet<>(); // Polled transitions that have neither been rescheduled nor cancelled since.
+    private long sequence;
+    private volatile long nextDeadline = Long.MAX_VALUE;
+
+    private volatile long lastLateness;
+    private volatile long maxLateness;
+    private long totalLateness;
+    private volatile long firedCount;
+
+    /**
+     * Schedules the next transition of the event according to its current status.
+     * Any transition scheduled before for the same event is replaced.
+     *
+     * @param event Event to schedule
+     */
+    synchronized void schedule(@NotNull GameEvent event) {
+        cancel(event.getEventId());
+
+        long time;
+        switch (event.getEventStatus()) {
+            case UPCOMING -> time = event.getEventStartTime();
+            case HOLDING -> time = event.getEventEndTime(); // 0 means that the event should end immediately.
+            default -> {
+                return;
+            }
+        }
+
+        val deadline = new Deadline(event, time, sequence++);
+        queue.add(deadline);
+        deadlines.put(event.getEventId(), deadline);
+        nextDeadline = queue.first().time();
+    }
+
+    synchronized void cancel(@NotNull UUID eventId) {
+        polled.remove(eventId);
+        val deadline = deadlines.remove(eventId);
+        if (deadline != null) {
+            queue.remove(deadline);
+            nextDeadline = queue.isEmpty() ? Long.MAX_VALUE : queue.first().time();
+        }
+    }
+
+    /**
+     * Returns the time at which the earliest transition is due.
+     *
+     * @return Due time in epoch milliseconds, or {@link Long#MAX_VALUE} if nothing is scheduled.
+     */
+    public long getNextDeadline() {
+        return nextDeadline;
+    }
+
+    /**
+     * Removes and returns an event whose transition is due at the specified time.<br>
+     * If firing the transition does not change the status of the event, call {@link #retry} so that it is fired again.
+     *
+     * @param now Current time in epoch milliseconds
+     * @return Event whose transition is due, or null if there is none.
+     */
+    public @Nullable GameEvent pollDue(long now) {
+        if (nextDeadline > now)
+            return null;
+
+        synchronized (this) {
+            if (queue.isEmpty() || queue.first().time() > now)
+                return null;
+
+            val deadline = queue.pollFirst();
+            deadlines.remove(deadline.event().getEventId());
+            polled.add(deadline.event().getEventId());
+            nextDeadline = queue.isEmpty() ? Long.MAX_VALUE : queue.first().time();
+
+            // An end time of 0 is not a real deadline, so it is not counted as lateness.
+            if (deadline.time() > 0) {
+                long lateness = now - deadline.time();
+                lastLateness = lateness;
+                maxLateness = Math.max(maxLateness, lateness);
+                totalLateness += lateness;
+                firedCount++;
+            }
+            return deadline.event();
+        }
+    }
+
+    /**
+     * Schedules a transition returned by {@link #pollDue} again at the specified time,
+     * unless the event has been scheduled or cancelled since, which is the case when its status has changed or it has been deleted.
+     *
+     * @param event Event returned by {@link #pollDue}
+     * @param time  Time to fire the transition again, in epoch milliseconds
+     */
+    public synchronized void retry(@NotNull GameEvent event, long time) {
+        if (!polled.remove(event.getEventId()))
+            return;
+
+        val deadline = new Deadline(event, time, sequence++);
+        queue.add(deadline);
+        deadlines.put(event.getEventId(), deadline);
+        nextDeadline = queue.first().time();
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return How late the last transition was fired, in milliseconds.
+     */
+    public long getLastLateness() {
+        return lastLateness;
+    }
+
+    /**
+     * @return The largest lateness measured so far, in milliseconds.
+     */
+    public long getMaxLateness() {
+        return maxLateness;
+    }
+
+    /**
+     * @return Average lateness of the transitions fired so far, in milliseconds.
+     */
+    public synchronized double getAverageLateness() {
+        return firedCount == 0 ? 0 : (double) totalLateness / firedCount;
+    }
+
+    /**
+     * @return Number of transitions fired so far.
+     */
+    public long getFiredCount() {
+        return firedCount;
+    }
+
+
+    private record Deadline(GameEvent event, long time, long sequence) {
+    }
+}
@@ -22,6 +22,7 @@ import org.bukkit.entity.Player;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
 public interface GameEvent {
@@ -44,9 +45,24 @@ public interface GameEvent {
 
     List<UUID> getEntrant();
 
+    default boolean isEntrant(UUID playerId) {
+        return getEntrant().contains(playerId);
+    }
+
     EventOptions getEventOptions();
 
     boolean entryEvent(Player player);
 
+    /**
+     * Enters the player into the event without waiting for the database.
+     * Must be called on the main thread. The returned future may be completed on a database thread.
+     *
+     * @param player Player to enter
+     * @return Future completed with true if the player has entered, or false if the entry was cancelled or failed.
+     */
+    default CompletableFuture<Boolean> entryEventAsync(Player player) {
+        return CompletableFuture.completedFuture(entryEvent(player));
+    }
+
     void changeStatus(GameEventStatus eventStatus);
 }
@@ -17,7 +17,13 @@
 package dev.nafusoft.eventassistcore.gameevent;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import dev.nafusoft.eventassistcore.EventAssistConfig;
+import dev.nafusoft.eventassistcore.EventAssistCore;
 import dev.nafusoft.eventassistcore.database.DatabaseConnector;
+import dev.nafusoft.eventassistcore.database.EventEntrantTable;
 import dev.nafusoft.eventassistcore.database.GameEventTable;
 import dev.nafusoft.eventassistcore.exception.EventRegisterException;
 import dev.nafusoft.eventassistcore.utils.PluginLogger;
@@ -27,21 +33,57 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 public final class GameEventManager extends GameEventTable {
-    private final Map<GameEventStatus, List<GameEvent>> eventStore;
+    private final GameEventStore eventStore;
+    private final EventDeadlineQueue deadlineQueue;
+    private final PlayerEventIndex playerIndex;
+    private final EntryPipeline entryPipeline;
+    private final Cache<UUID, GameEvent> endedEvents;
+    private final Cache<UUID, Boolean> missingEvents;
     private final Map<Player, GameEventBuilder> builderStore;
 
-    public GameEventManager(@Nullable String prefix, @NotNull DatabaseConnector connector) throws SQLException {
-        super(prefix, connector);
+    public GameEventManager(@NotNull EventAssistConfig config, @NotNull DatabaseConnector connector) throws SQLException {
+        super(config.tablePrefix(), connector);
         createTable();
 
-        eventStore = new EnumMap<>(GameEventStatus.class);
-        eventStore.put(GameEventStatus.UPCOMING, getByStatus(GameEventStatus.UPCOMING));
-        eventStore.put(GameEventStatus.HOLDING, getByStatus(GameEventStatus.HOLDING));
-        eventStore.put(GameEventStatus.ENDED, new ArrayList<>());
+        // UPCOMING and HOLDING events are always resident.
+        // In migration dry-run mode the schema has not been migrated, so no events are read.
+        eventStore = new GameEventStore();
+        if (!connector.getMigrator().isDryRun()) {
+            eventStore.addAll(getByStatus(GameEventStatus.UPCOMING));
+            eventStore.addAll(getByStatus(GameEventStatus.HOLDING));
+        }
+
+        deadlineQueue = new EventDeadlineQueue();
+        eventStore.forEach(null, deadlineQueue::schedule);
+        playerIndex = new PlayerEventIndex(eventStore);
+        entryPipeline = new EntryPipeline(this, connector.getExecutor(), config.entryBatchWindow());
+
+        // ENDED events are only kept while they are in use, and are read from the database again when needed.
+        endedEvents = CacheBuilder.newBuilder()
+                .maximumSize(config.endedEventCacheSize())
+                .expireAfterAccess(config.endedEventCacheExpire(), TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+
+        // Remember ids that do not exist in the database for a while, so repeated lookups do not hit the database.
+        missingEvents = CacheBuilder.newBuilder()
+                .maximumSize(1024)
+                .expireAfterWrite(30, TimeUnit.SECONDS)
+                .build();
 
         builderStore = new HashMap<>();
     }
@@ -56,12 +98,20 @@ public final class GameEventManager extends GameEventTable {
         GameEvent result;
 
         // first, check current event.
-        result = getEvents(null).stream().filter(event -> event.getEventId().equals(id)).findFirst().orElse(null);
+        result = eventStore.get(id);
 
         // second, check ended event.
-        if (result == null) {
+        if (result == null)
+            result = endedEvents.getIfPresent(id);
+
+        // third, load from database.
+        if (result == null && missingEvents.getIfPresent(id) == null) {
             try {
                 result = getById(id);
+                if (result == null)
+                    missingEvents.put(id, Boolean.TRUE);
+                else if (result.getEventStatus() == GameEventStatus.ENDED)
+                    endedEvents.put(id, result);
             } catch (SQLException e) {
                 PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
             }
@@ -71,16 +121,188 @@ public final class GameEventManager extends GameEventTable {
         return result;
     }
 
+    /**
+     * Get registered events without blocking the calling thread.
+     * Resident events are returned immediately, other events are read on the database executor.
+     *
+     * @param id Event id to get
+     * @return Future completed with the event, or with null if there is no event with the specified id.
+     * @see dev.nafusoft.eventassistcore.database.DatabaseExecutor DatabaseExecutor for the thread the future is completed on
+     */
+    public @NotNull CompletableFuture<GameEvent> getEventAsync(@NotNull UUID id) {
+        GameEvent result = eventStore.get(id);
+        if (result == null)
+            result = endedEvents.getIfPresent(id);
+        if (result != null || missingEvents.getIfPresent(id) != null)
+            return CompletableFuture.completedFuture(result);
+        return supplyAsync(() -> getEvent(id));
+    }
+
     /**
      * Get events for the specified status state.
      *
+     * The returned list is an immutable snapshot and is not affected by later changes.<br>
+     * Ended events are only included while they are held in the ended event cache.
+     * For UPCOMING and HOLDING the shared snapshot is returned without copying.
+     * For ENDED, and for null while ended events are cached, a new list is built on every call.
+     *
      * @param eventStatus The status to get, if null is specified, return all events.
      * @return List of {@link GameEvent GameEvent} with the corresponding status state
      */
     public @NotNull List<GameEvent> getEvents(@Nullable GameEventStatus eventStatus) {
-        if (eventStatus == null)
-            return eventStore.keySet().stream().flatMap(key -> eventStore.get(key).stream()).toList();
-        return Collections.unmodifiableList(eventStore.get(eventStatus));
+        if (eventStatus == GameEventStatus.ENDED)
+            return List.copyOf(endedEvents.asMap().values());
+        if (eventStatus == null && endedEvents.size() != 0) {
+            List<GameEvent> resident = eventStore.get(null);
+            List<GameEvent> events = new ArrayList<>(resident.size() + (int) endedEvents.size());
+            events.addAll(resident);
+            events.addAll(endedEvents.asMap().values());
+            return Collections.unmodifiableList(events);
+        }
+        return eventStore.get(eventStatus);
+    }
+
+    /**
+     * Get the ids of all events the player has entered, including ended events.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param playerId Player to look up
+     * @return List of event ids in the order they were entered
+     */
+    public @NotNull List<UUID> getEnteredEventIds(@NotNull UUID playerId) {
+        try {
+            return getEventIdsByEntrant(playerId);
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Performs the given action for each event with the specified status.<br>
+     * UPCOMING and HOLDING events are visited from a snapshot, so visiting them neither locks nor allocates.
+     * Ended events are visited from the ended event cache, which allocates an iterator,
+     * so code that runs every tick should pass a resident status rather than null or ENDED.
+     *
+     * @param eventStatus The status to visit, if null is specified, visit all events.
+     * @param consumer    Action to perform for each event
+     */
+    public void forEachEvent(@Nullable GameEventStatus eventStatus, @NotNull Consumer<? super GameEvent> consumer) {
+        if (eventStatus != GameEventStatus.ENDED)
+            eventStore.forEach(eventStatus, consumer);
+        if (eventStatus == null || eventStatus == GameEventStatus.ENDED)
+            endedEvents.asMap().values().forEach(consumer);
+    }
+
+    /**
+     * Returns the queue holding the next start or end time of each resident event.
+     *
+     * @return {@link EventDeadlineQueue EventDeadlineQueue}
+     */
+    public @NotNull EventDeadlineQueue getDeadlineQueue() {
+        return deadlineQueue;
+    }
+
+    /**
+     * Returns the pipeline that saves entries in batches.
+     *
+     * @return {@link EntryPipeline EntryPipeline}
+     */
+    public @NotNull EntryPipeline getEntryPipeline() {
+        return entryPipeline;
+    }
+
+    /**
+     * Returns the statistics of the ended event cache.
+     * Hit, miss and eviction counts can be used to size the cache.
+     *
+     * @return {@link CacheStats CacheStats} of the ended event cache
+     */
+    public @NotNull CacheStats getEndedEventCacheStats() {
+        return endedEvents.stats();
+    }
+
+    /**
+     * Get summaries of events ordered by start date.
+     * Summaries are read without the location, entrant and options data, so they are suitable for listings.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param eventStatus The status to get, if null is specified, return all events.
+     * @param limit       Maximum number of summaries to return
+     * @param offset      Number of summaries to skip
+     * @return List of {@link GameEventSummary GameEventSummary}
+     */
+    public @NotNull List<GameEventSummary> getSummaries(@Nullable GameEventStatus eventStatus, int limit, int offset) {
+        try {
+            return fetchSummaries(eventStatus, limit, offset);
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get one page of ended events, newest first.
+     * Pass {@link HistoryPage#nextKey()} of the returned page to get the next one.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param after Key of the last event on the previous page, if null is specified, return the first page.
+     * @param limit Maximum number of summaries on the page
+     * @return {@link HistoryPage HistoryPage}
+     */
+    public @NotNull HistoryPage getHistory(@Nullable HistoryPage.Key after, int limit) {
+        try {
+            return fetchHistory(after, limit);
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return new HistoryPage(List.of(), null);
+        }
+    }
+
+    /**
+     * Passes all ended events to the consumer, newest first, without holding them in memory.
+     * This reads the database and blocks until every event has been passed, so it should not be called on the main thread.
+     *
+     * @param consumer Receives each summary
+     * @return true if every event has been passed, false if reading has failed.
+     */
+    public boolean streamHistory(@NotNull Consumer<GameEventSummary> consumer) {
+        try {
+            scanHistory(consumer);
+            return true;
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the summary of an event.
+     * This reads the database, so it should not be called on the main thread.
+     *
+     * @param id Event id to get
+     * @return {@link GameEventSummary GameEventSummary} of the event, or null if there is no event with the specified id.
+     */
+    public @Nullable GameEventSummary getSummary(@NotNull UUID id) {
+        try {
+            return getSummaryById(id);
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to get event data.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the upcoming and holding events the player has entered.
+     *
+     * @param playerId Player to look up
+     * @return List of {@link GameEvent GameEvent} the player has entered
+     */
+    public @NotNull List<GameEvent> getEventsOf(@NotNull UUID playerId) {
+        return playerIndex.get(playerId).stream()
+                .map(eventStore::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
@@ -92,6 +314,20 @@ public final class GameEventManager extends GameEventTable {
         return new GameEventBuilder(this);
     }
 
+    /**
+     * Delete the event without blocking the calling thread.
+     *
+     * @param event Event to delete
+     * @return Future completed when the event has been deleted
+     * @see dev.nafusoft.eventassistcore.database.DatabaseExecutor DatabaseExecutor for the thread the future is completed on
+     */
+    public @NotNull CompletableFuture<Void> deleteEventAsync(@NotNull GameEvent event) {
+        return supplyAsync(() -> {
+            deleteEvent(event);
+            return null;
+        });
+    }
+
     /**
      * Delete the event.
      *
@@ -100,7 +336,11 @@ public final class GameEventManager extends GameEventTable {
     public void deleteEvent(@NotNull GameEvent event) {
         try {
             delete(event.getEventId());
-            eventStore.get(event.getEventStatus()).remove(event);
+            eventStore.remove(event);
+            playerIndex.removeAll(event);
+            endedEvents.invalidate(event.getEventId());
+            deadlineQueue.cancel(event.getEventId());
+            EventAssistCore.getInstance().getAutomationManager().evictEvent(event.getEventId());
         } catch (SQLException e) {
             PluginLogger.log(
                     Level.WARNING,
@@ -116,7 +356,10 @@ public final class GameEventManager extends GameEventTable {
     void registerEvent(@NotNull GameEvent event) {
         try {
             add(event);
-            eventStore.get(event.getEventStatus()).add(event);
+            eventStore.add(event);
+            playerIndex.addAll(event);
+            deadlineQueue.schedule(event);
+            missingEvents.invalidate(event.getEventId());
             builderStore.remove(Bukkit.getServer().getPlayer(event.getEventOwner()));
         } catch (JsonProcessingException | SQLException e) {
             PluginLogger.log(
@@ -143,10 +386,11 @@ public final class GameEventManager extends GameEventTable {
         }
     }
 
-    void updateEventEntrant(@NotNull GameEvent event) {
+    void addEventEntrant(@NotNull GameEvent event, @NotNull UUID playerId) {
         try {
-            setEntrant(event.getEventId(), event.getEntrant());
-        } catch (JsonProcessingException | SQLException e) {
+            addEntrant(event.getEventId(), playerId);
+            playerIndex.add(event.getEventId(), playerId);
+        } catch (SQLException e) {
             PluginLogger.log(
                     Level.WARNING,
                     "An error has occurred while registering event information.",
@@ -157,11 +401,52 @@ public final class GameEventManager extends GameEventTable {
         }
     }
 
+    CompletableFuture<Boolean> addEventEntrantAsync(@NotNull GameEvent event, @NotNull UUID playerId, @NotNull Runnable rollback) {
+        return entryPipeline.submit(event, playerId, rollback);
+    }
+
+    /**
+     * Saves the entrants in one transaction. If the transaction fails, each entrant is saved on its own,
+     * so that only the entrants that really cannot be saved are reported as failed.
+     *
+     * @return Whether each entrant has been saved, in the same order as the entrants.
+     */
+    boolean[] addEventEntrants(@NotNull List<GameEvent> events, @NotNull List<EventEntrantTable.Entrant> entrants) {
+        boolean[] results = new boolean[entrants.size()];
+        try {
+            addEntrants(entrants);
+            Arrays.fill(results, true);
+        } catch (SQLException e) {
+            PluginLogger.log(Level.WARNING, "Failed to save entrants in a batch, retrying one by one.", e);
+            for (int i = 0; i < entrants.size(); i++) {
+                try {
+                    addEntrant(entrants.get(i).eventId(), entrants.get(i).playerId());
+                    results[i] = true;
+                } catch (SQLException ex) {
+                    PluginLogger.log(Level.WARNING, "An error has occurred while registering event information.", ex);
+                }
+            }
+        }
+
+        for (int i = 0; i < entrants.size(); i++) {
+            if (results[i])
+                playerIndex.add(events.get(i).getEventId(), entrants.get(i).playerId());
+        }
+        return results;
+    }
+
     void changeEventStatus(GameEvent gameEvent, GameEventStatus oldStatus, GameEventStatus newStatus) {
         PluginLogger.info("Updated event status: " + gameEvent.getEventName() + "(" + oldStatus.name() + " -> " + newStatus.name() + ")");
 
-        eventStore.get(oldStatus).remove(gameEvent);
-        eventStore.get(newStatus).add(gameEvent);
+        if (newStatus == GameEventStatus.ENDED) {
+            eventStore.remove(gameEvent);
+            playerIndex.removeAll(gameEvent);
+            endedEvents.put(gameEvent.getEventId(), gameEvent);
+            EventAssistCore.getInstance().getAutomationManager().releaseEvent(gameEvent.getEventId());
+        } else {
+            eventStore.move(gameEvent, oldStatus, newStatus);
+        }
+        deadlineQueue.schedule(gameEvent);
 
         try {
             setStatus(gameEvent.getEventId(), newStatus);
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Holds the events that are resident in memory.<br>
+ * Every write publishes a new immutable snapshot for each status, so readers never take a lock and never allocate.
+ * Writes are serialized on this instance and copy the affected snapshot.
+ */
+final class GameEventStore {
+    private static final GameEventStatus[] STATUSES = GameEventStatus.values();
+
+    private final Map<UUID, GameEvent> index;
+    private final AtomicReferenceArray<List<GameEvent>> snapshots;
+    private volatile List<GameEvent> allSnapshot;
+
+    GameEventStore() {
+        index = new ConcurrentHashMap<>();
+        snapshots = new AtomicReferenceArray<>(STATUSES.length);
+        for (GameEventStatus status : STATUSES)
+            snapshots.set(status.ordinal(), List.of());
+        allSnapshot = List.of();
+    }
+
+    @Nullable GameEvent get(@NotNull UUID eventId) {
+        return index.get(eventId);
+    }
+
+    /**
+     * Returns the current snapshot of the events with the specified status.
+     *
+     * @param status The status to get, if null is specified, return all events.
+     * @return Immutable snapshot of the events
+     */
+    @NotNull List<GameEvent> get(@Nullable GameEventStatus status) {
+        if (status == null)
+            return allSnapshot;
+        return snapshots.get(status.ordinal());
+    }
+
+    void forEach(@Nullable GameEventStatus status, @NotNull Consumer<? super GameEvent> consumer) {
+        List<GameEvent> events = get(status);
+        for (int i = 0, size = events.size(); i < size; i++)
+            consumer.accept(events.get(i));
+    }
+
+    synchronized void add(@NotNull GameEvent event) {
+        List<GameEvent> current = snapshots.get(event.getEventStatus().ordinal());
+        snapshots.set(event.getEventStatus().ordinal(), append(current, event));
+        index.put(event.getEventId(), event);
+        publishAll();
+    }
+
+    /**
+     * Adds the events, copying the snapshot of each status only once.
+     */
+    synchronized void addAll(@NotNull Collection<? extends GameEvent> events) {
+        if (events.isEmpty())
+            return;
+
+        List<List<GameEvent>> added = new ArrayList<>(STATUSES.length);
+        for (int i = 0; i < STATUSES.length; i++)
+            added.add(new ArrayList<>());
+        events.forEach(event -> {
+            added.get(event.getEventStatus().ordinal()).add(event);
+            index.put(event.getEventId(), event);
+        });
+
+        for (GameEventStatus status : STATUSES) {
+            List<GameEvent> additions = added.get(status.ordinal());
+            if (additions.isEmpty())
+                continue;
+
+            List<GameEvent> current = snapshots.get(status.ordinal());
+            GameEvent[] merged = current.toArray(new GameEvent[current.size() + additions.size()]);
+            for (int i = 0; i < additions.size(); i++)
+                merged[current.size() + i] = additions.get(i);
+            snapshots.set(status.ordinal(), Collections.unmodifiableList(Arrays.asList(merged)));
+        }
+        publishAll();
+    }
+
+    synchronized void move(@NotNull GameEvent event, @NotNull GameEventStatus oldStatus, @NotNull GameEventStatus newStatus) {
+        snapshots.set(oldStatus.ordinal(), without(snapshots.get(oldStatus.ordinal()), event.getEventId()));
+        snapshots.set(newStatus.ordinal(), append(snapshots.get(newStatus.ordinal()), event));
+        index.put(event.getEventId(), event);
+        publishAll();
+    }
+
+    synchronized void remove(@NotNull GameEvent event) {
+        for (GameEventStatus status : STATUSES)
+            snapshots.set(status.ordinal(), without(snapshots.get(status.ordinal()), event.getEventId()));
+        index.remove(event.getEventId());
+        publishAll();
+    }
+
+    private void publishAll() {
+        int size = 0;
+        for (GameEventStatus status : STATUSES)
+            size += snapshots.get(status.ordinal()).size();
+
+        GameEvent[] all = new GameEvent[size];
+        int position = 0;
+        for (GameEventStatus status : STATUSES) {
+            for (GameEvent event : snapshots.get(status.ordinal()))
+                all[position++] = event;
+        }
+        allSnapshot = Collections.unmodifiableList(Arrays.asList(all));
+    }
+
+    private static List<GameEvent> append(List<GameEvent> current, GameEvent event) {
+        GameEvent[] events = current.toArray(new GameEvent[current.size() + 1]);
+        events[current.size()] = event;
+        return Collections.unmodifiableList(Arrays.asList(events));
+    }
+
+    private static List<GameEvent> without(List<GameEvent> current, UUID eventId) {
+        int target = -1;
+        for (int i = 0, size = current.size(); i < size; i++) {
+            if (current.get(i).getEventId().equals(eventId)) {
+                target = i;
+                break;
+            }
+        }
+        if (target < 0)
+            return current;
+
+        GameEvent[] events = new GameEvent[current.size() - 1];
+        for (int i = 0, j = 0, size = current.size(); i < size; i++) {
+            if (i != target)
+                events[j++] = current.get(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(events));
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import java.util.UUID;
+
+/**
+ * Lightweight view of an event for listings and schedule boards.
+ * It is read without the location, entrant and options data, so no JSON is parsed to create it.
+ */
+public record GameEventSummary(UUID eventId,
+                               String eventName,
+                               String eventDescription,
+                               UUID eventOwner,
+                               GameEventStatus eventStatus,
+                               long eventStartTime,
+                               long eventEndTime) {
+}
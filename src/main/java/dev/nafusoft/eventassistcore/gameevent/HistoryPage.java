@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of ended events, newest first.
+ *
+ * @param summaries Summaries on this page
+ * @param nextKey   Key to pass to get the next page, or null if this is the last page.
+ */
+public record HistoryPage(@NotNull List<GameEventSummary> summaries, @Nullable Key nextKey) {
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+
+    /**
+     * Position in the history. The next page starts with the event just before this one.
+     *
+     * @param eventEndTime End time of the last event on the previous page
+     * @param eventId      Id of the last event on the previous page
+     */
+    public record Key(long eventEndTime, @NotNull UUID eventId) {
+
+        public static @NotNull Key of(@NotNull GameEventSummary summary) {
+            return new Key(summary.eventEndTime(), summary.eventId());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 NAFU_at
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.nafusoft.eventassistcore.gameevent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from player UUID to the ids of the resident events the player has entered.<br>
+ * The index is built from the event store the first time it is queried, and is kept up to date after that.
+ * Each player maps to an immutable set that is replaced on write, so reads neither lock nor allocate.
+ * Writes are serialized with the build.
+ */
+final class PlayerEventIndex {
+    private final GameEventStore eventStore;
+    private final Map<UUID, Set<UUID>> index;
+    private volatile boolean built;
+
+    PlayerEventIndex(@NotNull GameEventStore eventStore) {
+        this.eventStore = eventStore;
+        this.index = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the ids of the events the player has entered.
+     *
+     * @param playerId Player to look up
+     * @return Immutable set of event ids
+     */
+    @NotNull Set<UUID> get(@NotNull UUID playerId) {
+        if (!built)
+            build();
+
+        return index.getOrDefault(playerId, Set.of());
+    }
+
+    /**
+     * Adds the entry if the event is still resident.
+     * Entries are saved asynchronously, so the event may have ended or been deleted by the time this is called.
+     */
+    synchronized void add(@NotNull UUID eventId, @NotNull UUID playerId) {
+        if (built && eventStore.get(eventId) != null)
+            index.compute(playerId, (key, eventIds) -> with(eventIds, eventId));
+    }
+
+    synchronized void addAll(@NotNull GameEvent event) {
+        if (built)
+            event.getEntrant().forEach(playerId -> add(event.getEventId(), playerId));
+    }
+
+    synchronized void remove(@NotNull UUID eventId, @NotNull UUID playerId) {
+        if (built)
+            index.computeIfPresent(playerId, (key, eventIds) -> without(eventIds, eventId));
+    }
+
+    synchronized void removeAll(@NotNull GameEvent event) {
+        if (built)
+            event.getEntrant().forEach(playerId -> remove(event.getEventId(), playerId));
+    }
+
+    private synchronized void build() {
+        if (built)
+            return;
+
+        Map<UUID, Set<UUID>> entries = new HashMap<>();
+        eventStore.forEach(null, event -> event.getEntrant().forEach(playerId ->
+                entries.computeIfAbsent(playerId, key -> new HashSet<>()).add(event.getEventId())));
+        entries.forEach((playerId, eventIds) -> index.put(playerId, Set.copyOf(eventIds)));
+        built = true;
+    }
+
+    private static Set<UUID> with(@Nullable Set<UUID> eventIds, UUID eventId) {
+        if (eventIds == null)
+            return Set.of(eventId);
+        if (eventIds.contains(eventId))
+            return eventIds;
+
+        Set<UUID> copy = new HashSet<>(eventIds);
+        copy.add(eventId);
+        return Set.copyOf(copy);
+    }
+
+    private static @Nullable Set<UUID> without(Set<UUID> eventIds, UUID eventId) {
+        if (!eventIds.contains(eventId))
+            return eventIds;
+        if (eventIds.size() == 1)
+            return null;
+
+        Set<UUID> copy = new HashSet<>(eventIds);
+        copy.remove(eventId);
+        return Set.copyOf(copy);
+    }
+}